@@ -0,0 +1,63 @@
+-- XposeAPI migration 001: normalized search columns for the /filter endpoints
+--
+-- The Specification filters used to run lower(unaccent(col)) LIKE '%x%', which
+-- no index can serve. The application now keeps lower-cased, accent-stripped
+-- copies of the searchable columns (written from the JPA @PrePersist/@PreUpdate
+-- callbacks) and filters on them with LIKE '%x%', served by trigram indexes.
+--
+-- Safe to run more than once.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- =====================================================
+-- Columns
+-- =====================================================
+
+ALTER TABLE asset
+    ADD COLUMN IF NOT EXISTS name_search VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS type_search VARCHAR(255);
+
+ALTER TABLE artist
+    ADD COLUMN IF NOT EXISTS name_search VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS surname_search VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS artistic_name_search VARCHAR(255);
+
+ALTER TABLE serie
+    ADD COLUMN IF NOT EXISTS name_search VARCHAR(255);
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS name_search VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS surname_search VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS email_search VARCHAR(255);
+
+-- =====================================================
+-- Backfill existing rows (new writes are handled by the application)
+--
+-- A first pass only: unaccent and lower disagree with the application's
+-- TextNormalizer on letters such as ø, æ, œ, ł and ß. The application rewrites
+-- the rows that differ on startup (SearchColumnBackfillService).
+-- =====================================================
+
+UPDATE asset SET name_search = lower(unaccent(name)), type_search = lower(unaccent(type));
+UPDATE artist SET name_search = lower(unaccent(name)),
+                  surname_search = lower(unaccent(surname)),
+                  artistic_name_search = lower(unaccent(artistic_name));
+UPDATE serie SET name_search = lower(unaccent(name));
+UPDATE users SET name_search = lower(unaccent(name)),
+                 surname_search = lower(unaccent(surname)),
+                 email_search = lower(unaccent(email));
+
+-- =====================================================
+-- Trigram indexes (serve LIKE '%x%' on the search columns)
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_asset_name_search_trgm ON asset USING gin (name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_asset_type_search_trgm ON asset USING gin (type_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_artist_name_search_trgm ON artist USING gin (name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_artist_surname_search_trgm ON artist USING gin (surname_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_artist_artistic_name_search_trgm ON artist USING gin (artistic_name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_serie_name_search_trgm ON serie USING gin (name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_name_search_trgm ON users USING gin (name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_surname_search_trgm ON users USING gin (surname_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_search_trgm ON users USING gin (email_search gin_trgm_ops);
@@ -0,0 +1,15 @@
+-- XposeAPI migration 002: resized image URLs on assets
+--
+-- The application renders 320, 800 and 1600px wide copies of every uploaded image
+-- and stores their URLs here. NULL means the copies have not been generated yet;
+-- existing assets are filled in by POST /assets/derivatives/backfill.
+--
+-- Safe to run more than once.
+
+ALTER TABLE asset
+    ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(512),
+    ADD COLUMN IF NOT EXISTS medium_url VARCHAR(512),
+    ADD COLUMN IF NOT EXISTS large_url VARCHAR(512);
+
+-- Serves the backfill scan of assets still waiting for their derivatives
+CREATE INDEX IF NOT EXISTS idx_asset_pending_derivatives ON asset (id) WHERE thumbnail_url IS NULL;
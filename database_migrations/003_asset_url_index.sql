@@ -0,0 +1,8 @@
+-- XposeAPI migration 003: index on asset.url
+--
+-- Finalizing a direct upload checks that no asset already points at the uploaded
+-- object, which is a lookup by url.
+--
+-- Safe to run more than once.
+
+CREATE INDEX IF NOT EXISTS idx_asset_url ON asset (url);
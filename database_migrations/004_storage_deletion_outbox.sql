@@ -0,0 +1,20 @@
+-- XposeAPI migration 004: outbox of stored objects to delete
+--
+-- Deleting an asset no longer removes its files inside the request. The deleting
+-- transaction inserts one row per file here, and a background worker removes the
+-- files in batches, retrying failures with exponential backoff.
+--
+-- Safe to run more than once.
+
+CREATE TABLE IF NOT EXISTS storage_deletion_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    bucket VARCHAR(255) NOT NULL,
+    object_name VARCHAR(512) NOT NULL,
+    reference_url VARCHAR(512),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_deletion_outbox_next_attempt_at ON storage_deletion_outbox (next_attempt_at);
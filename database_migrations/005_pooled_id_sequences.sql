@@ -0,0 +1,17 @@
+-- XposeAPI migration 005: pooled id sequences
+--
+-- Entities now take their ids from their sequence in blocks of 50 instead of from
+-- identity inserts, so Hibernate can batch inserts. The sequences must step by the
+-- same 50. Plain inserts relying on the column default stay safe: each one takes a
+-- value that ends a block Hibernate never fetched.
+--
+-- Safe to run more than once.
+
+ALTER SEQUENCE address_id_seq INCREMENT BY 50;
+ALTER SEQUENCE contact_information_id_seq INCREMENT BY 50;
+ALTER SEQUENCE artist_id_seq INCREMENT BY 50;
+ALTER SEQUENCE serie_id_seq INCREMENT BY 50;
+ALTER SEQUENCE asset_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE website_settings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE storage_deletion_outbox_id_seq INCREMENT BY 50;
@@ -1,4 +1,10 @@
 -- XposeAPI Database Schema
+--
+-- Fresh installs run this file. Existing databases apply the scripts in
+-- database_migrations/ in order instead.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
 
 -- =====================================================
@@ -36,6 +42,9 @@ CREATE TABLE artist (
     artistic_name VARCHAR(255),
     about TEXT,
     contact_information_id BIGINT,
+    name_search VARCHAR(255),
+    surname_search VARCHAR(255),
+    artistic_name_search VARCHAR(255),
     FOREIGN KEY (contact_information_id) REFERENCES contact_information(id) ON DELETE CASCADE
 );
 
@@ -44,7 +53,8 @@ CREATE TABLE serie (
     id BIGSERIAL PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255) NOT NULL,
-    active BOOLEAN NOT NULL DEFAULT TRUE
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    name_search VARCHAR(255)
 );
 
 -- Asset table
@@ -55,7 +65,12 @@ CREATE TABLE asset (
     type VARCHAR(255),
     comment TEXT,
     url VARCHAR(255) NOT NULL,
-    active BOOLEAN NOT NULL DEFAULT TRUE
+    thumbnail_url VARCHAR(512),
+    medium_url VARCHAR(512),
+    large_url VARCHAR(512),
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    name_search VARCHAR(255),
+    type_search VARCHAR(255)
 );
 
 -- Users table
@@ -66,7 +81,10 @@ CREATE TABLE users (
     username VARCHAR(255) UNIQUE,
     email VARCHAR(255) NOT NULL UNIQUE,
     password_hash VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    name_search VARCHAR(255),
+    surname_search VARCHAR(255),
+    email_search VARCHAR(255)
 );
 
 -- Website Settings table (depends on ContactInformation)
@@ -79,6 +97,18 @@ CREATE TABLE website_settings (
     FOREIGN KEY (contact_information_id) REFERENCES contact_information(id) ON DELETE CASCADE
 );
 
+-- Outbox of stored objects to delete, drained in the background
+CREATE TABLE storage_deletion_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    bucket VARCHAR(255) NOT NULL,
+    object_name VARCHAR(512) NOT NULL,
+    reference_url VARCHAR(512),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL
+);
+
 -- =====================================================
 -- Junction Tables for Many-to-Many Relationships
 -- =====================================================
@@ -110,6 +140,20 @@ CREATE TABLE serie_artists (
     FOREIGN KEY (artist_id) REFERENCES artist(id) ON DELETE CASCADE
 );
 
+-- =====================================================
+-- Id sequences
+-- =====================================================
+
+-- Ids are allocated in blocks of 50 (allocationSize in the entity mappings)
+ALTER SEQUENCE address_id_seq INCREMENT BY 50;
+ALTER SEQUENCE contact_information_id_seq INCREMENT BY 50;
+ALTER SEQUENCE artist_id_seq INCREMENT BY 50;
+ALTER SEQUENCE serie_id_seq INCREMENT BY 50;
+ALTER SEQUENCE asset_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE website_settings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE storage_deletion_outbox_id_seq INCREMENT BY 50;
+
 -- =====================================================
 -- Indexes for better performance
 -- =====================================================
@@ -119,13 +163,33 @@ CREATE INDEX idx_contact_information_address_id ON contact_information(address_i
 CREATE INDEX idx_artist_contact_information_id ON artist(contact_information_id);
 CREATE INDEX idx_website_settings_contact_information_id ON website_settings(contact_information_id);
 
+-- Reverse indexes on junction tables (the primary keys only cover lookups by asset_id)
+CREATE INDEX idx_asset_series_serie_id ON asset_series(serie_id);
+CREATE INDEX idx_asset_authors_artist_id ON asset_authors(artist_id);
+
 -- Indexes on frequently queried columns
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_asset_active ON asset(active);
+CREATE INDEX idx_asset_url ON asset(url);
+CREATE INDEX idx_storage_deletion_outbox_next_attempt_at ON storage_deletion_outbox(next_attempt_at);
 CREATE INDEX idx_serie_active ON serie(active);
 CREATE INDEX idx_artist_artistic_name ON artist(artistic_name);
 
+-- Partial index serving the scan for assets still waiting for their resized images
+CREATE INDEX idx_asset_pending_derivatives ON asset (id) WHERE thumbnail_url IS NULL;
+
+-- Trigram indexes on the normalized search columns used by the /filter endpoints
+CREATE INDEX idx_asset_name_search_trgm ON asset USING gin (name_search gin_trgm_ops);
+CREATE INDEX idx_asset_type_search_trgm ON asset USING gin (type_search gin_trgm_ops);
+CREATE INDEX idx_artist_name_search_trgm ON artist USING gin (name_search gin_trgm_ops);
+CREATE INDEX idx_artist_surname_search_trgm ON artist USING gin (surname_search gin_trgm_ops);
+CREATE INDEX idx_artist_artistic_name_search_trgm ON artist USING gin (artistic_name_search gin_trgm_ops);
+CREATE INDEX idx_serie_name_search_trgm ON serie USING gin (name_search gin_trgm_ops);
+CREATE INDEX idx_users_name_search_trgm ON users USING gin (name_search gin_trgm_ops);
+CREATE INDEX idx_users_surname_search_trgm ON users USING gin (surname_search gin_trgm_ops);
+CREATE INDEX idx_users_email_search_trgm ON users USING gin (email_search gin_trgm_ops);
+
 -- =====================================================
 -- Notes:
 -- =====================================================
@@ -135,4 +199,5 @@ CREATE INDEX idx_artist_artistic_name ON artist(artistic_name);
 -- 4. VARCHAR(255) used as default string length (can be adjusted based on requirements)
 -- 5. TEXT used for longer text fields like description and comment
 -- 6. BOOLEAN fields default to TRUE where appropriate
--- 7. created_at uses TIMESTAMP with DEFAULT CURRENT_TIMESTAMP to match Java @PrePersist behavior
+-- 7. *_search columns hold lower-cased, accent-stripped copies written by the application (TextNormalizer)
+-- 8. created_at uses TIMESTAMP with DEFAULT CURRENT_TIMESTAMP to match Java @PrePersist behavior
@@ -0,0 +1,53 @@
+package com.aleix.XposeAPI.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Generates a random JWT signing key when none is configured and jwt.generate-missing-secret is set,
+ * which only the dev profile does. Everywhere else a missing JWT_SECRET fails the startup, so no
+ * fallback key is ever shared between deployments.
+ */
+public class DevJwtSecretPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String SECRET_PROPERTY = "jwt.secret";
+    private static final String GENERATE_PROPERTY = "jwt.generate-missing-secret";
+    private static final int KEY_BYTES = 32;
+
+    private final Log log;
+
+    /**
+     * Constructor for DevJwtSecretPostProcessor.
+     *
+     * @param logFactory Factory of the logs replayed once logging is initialized
+     */
+    public DevJwtSecretPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(DevJwtSecretPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(GENERATE_PROPERTY, Boolean.class, false)) {
+            return;
+        }
+        String secret = environment.getProperty(SECRET_PROPERTY);
+        if (secret != null && !secret.isBlank()) {
+            return;
+        }
+
+        byte[] key = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        environment.getPropertySources().addFirst(new MapPropertySource("generatedJwtSecret",
+                Map.of(SECRET_PROPERTY, Base64.getEncoder().encodeToString(key))));
+        log.warn("JWT_SECRET is not set, using a random signing key; tokens will not survive a restart "
+                + "or be accepted by other instances");
+    }
+}
@@ -0,0 +1,77 @@
+package com.aleix.XposeAPI.config;
+
+import com.aleix.XposeAPI.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Requires a valid bearer token on every write and on the backoffice-only reads (/users, /dashboard, /jobs).
+ * Tokens are verified by signature alone, so no request touches the database to authenticate.
+ * The verified claims are exposed to handlers as the {@link #AUTHENTICATED_USER} request attribute.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String AUTHENTICATED_USER = JwtAuthenticationFilter.class.getName() + ".user";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final Set<String> PROTECTED_READ_PREFIXES = Set.of("/users", "/dashboard", "/jobs");
+    private static final String LOGIN_PATH = "/users/login";
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    public JwtAuthenticationFilter(JwtService jwtService, @Value("${auth.enabled:true}") boolean enabled) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        // Match on the path the handlers are mapped by, so /%75sers or /users;x=1 cannot slip past as a public read
+        this.pathHelper.setUrlDecode(true);
+        this.pathHelper.setRemoveSemicolonContent(true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = pathHelper.getPathWithinApplication(request);
+        if (!enabled || !requiresAuthentication(request.getMethod(), path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<JwtService.TokenClaims> claims = header != null && header.startsWith(BEARER_PREFIX)
+                ? jwtService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                : Optional.empty();
+        if (claims.isEmpty()) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        request.setAttribute(AUTHENTICATED_USER, claims.get());
+        chain.doFilter(request, response);
+    }
+
+    private static boolean requiresAuthentication(String method, String path) {
+        if (LOGIN_PATH.equals(path) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        if (!READ_METHODS.contains(method)) {
+            return true;
+        }
+        return PROTECTED_READ_PREFIXES.stream().anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+}
@@ -1,12 +1,19 @@
 package com.aleix.XposeAPI.controller;
 
 import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.ArtistSummary;
+import com.aleix.XposeAPI.model.CursorPage;
+import com.aleix.XposeAPI.model.JobStatus;
 import com.aleix.XposeAPI.model.User;
 import com.aleix.XposeAPI.service.ArtistService;
+import com.aleix.XposeAPI.service.CascadeDeletionService;
+import com.aleix.XposeAPI.service.SparseFieldsetService;
+import com.aleix.XposeAPI.specification.ArtistSpecifications;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,14 +25,21 @@ import java.util.Optional;
 public class ArtistController {
 
     private final ArtistService artistService;
+    private final SparseFieldsetService sparseFieldsetService;
+    private final CascadeDeletionService cascadeDeletionService;
 
     /**
      * Constructor for ArtistController.
      * 
      * @param artistService Service for Artist entity operations
+     * @param sparseFieldsetService Service for reads narrowed with the fields parameter
+     * @param cascadeDeletionService Service deleting an artist with their assets and files
      */
-    public ArtistController(ArtistService artistService) {
+    public ArtistController(ArtistService artistService, SparseFieldsetService sparseFieldsetService,
+                            CascadeDeletionService cascadeDeletionService) {
         this.artistService = artistService;
+        this.sparseFieldsetService = sparseFieldsetService;
+        this.cascadeDeletionService = cascadeDeletionService;
     }
 
     /**
@@ -38,6 +52,33 @@ public class ArtistController {
         return artistService.getAllArtists();
     }
 
+    /**
+     * Retrieves all artists as summaries for list views.
+     * Use /artists/{id} for the full entity.
+     * 
+     * @return List of ArtistSummary projections
+     */
+    @GetMapping("/summary")
+    public List<ArtistSummary> getArtistSummaries() {
+        return artistService.getArtistSummaries();
+    }
+
+    /**
+     * Retrieves one window of artists using keyset pagination.
+     * Selected when a limit is given; pass the returned cursor as {@code after} to continue.
+     * 
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of artists to return
+     * @param sort Sort key, only id is supported
+     * @return Window of Artist entities with the cursor of the next window
+     */
+    @GetMapping(params = "limit")
+    public CursorPage<Artist> getArtistsPage(@RequestParam(required = false) String after,
+                                          @RequestParam int limit,
+                                          @RequestParam(defaultValue = "id") String sort) {
+        return artistService.getArtistsPage(after, limit, sort);
+    }
+
     /**
      * Retrieves a specific artist by its ID.
      * 
@@ -50,6 +91,46 @@ public class ArtistController {
         return artist.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the requested fields of all artists, e.g. {@code ?fields=id,artisticName}.
+     * 
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per artist
+     */
+    @GetMapping(params = {"fields", "!limit"})
+    public List<Map<String, Object>> getAllArtistsFields(@RequestParam String fields) {
+        return sparseFieldsetService.getArtists(fields, null);
+    }
+
+    /**
+     * Retrieves the requested fields of a specific artist.
+     * 
+     * @param id The ID of the artist to retrieve
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return ResponseEntity containing the field map if found, or 404 Not Found
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getArtistFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        return sparseFieldsetService.getArtist(id, fields).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Filters artists and returns only the requested fields.
+     * 
+     * @param name Optional name filter
+     * @param surname Optional surname filter
+     * @param artisticName Optional artistic name filter
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per artist matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = {"fields", "!limit"})
+    public List<Map<String, Object>> filterArtistsFields(@RequestParam(required = false) String name,
+                                                         @RequestParam(required = false) String surname,
+                                                         @RequestParam(required = false) String artisticName,
+                                                         @RequestParam String fields) {
+        return sparseFieldsetService.getArtists(fields, ArtistSpecifications.filterArtists(name, surname, artisticName));
+    }
+
     /**
      * Filters artists based on provided criteria.
      * 
@@ -65,6 +146,27 @@ public class ArtistController {
         return artistService.filterArtists(name, surname, artisticName);
     }
 
+    /**
+     * Filters artists based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param surname Optional surname filter
+     * @param artisticName Optional artistic name filter
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of artists to return
+     * @param sort Sort key, only id is supported
+     * @return Window of Artist entities matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = "limit")
+    public CursorPage<Artist> filterArtistsPage(@RequestParam(required = false) String name,
+                                                @RequestParam(required = false) String surname,
+                                                @RequestParam(required = false) String artisticName,
+                                                @RequestParam(required = false) String after,
+                                                @RequestParam int limit,
+                                                @RequestParam(defaultValue = "id") String sort) {
+        return artistService.filterArtistsPage(name, surname, artisticName, after, limit, sort);
+    }
+
     /**
      * Creates a new artist.
      * 
@@ -103,4 +205,54 @@ public class ArtistController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Deletes an artist together with the assets they authored alone and their stored files.
+     * Shared assets are only unlinked. Runs in the background; follow it with GET /jobs/{jobId}.
+     * 
+     * @param id The ID of the artist to delete
+     * @return ResponseEntity with 202 Accepted and the job status, or 404 Not Found
+     */
+    @DeleteMapping(value = "/{id}", params = "cascade=true")
+    public ResponseEntity<JobStatus> deleteArtistCascade(@PathVariable Long id) {
+        return cascadeDeletionService.deleteArtist(id)
+                .map(status -> ResponseEntity.accepted().body(status))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Creates several artists in one request.
+     * 
+     * @param artists The Artist entities to create, at most 1000
+     * @return ResponseEntity containing the created Artist entities, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Artist>> createArtists(@RequestBody List<Artist> artists) {
+        return ResponseEntity.ok(artistService.createArtists(artists));
+    }
+
+    /**
+     * Updates several artists in one request, all or none.
+     * 
+     * @param artists The updated Artist entity data, each with its ID, at most 1000
+     * @return ResponseEntity containing the updated Artist entities, or 404 Not Found if any of them is missing
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<Artist>> updateArtists(@RequestBody List<Artist> artists) {
+        return artistService.updateArtists(artists).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes several artists in one request, all or none.
+     * 
+     * @param ids The IDs of the artists to delete, at most 1000
+     * @return ResponseEntity with no content if deleted, or 404 Not Found if any of them is missing
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteArtists(@RequestBody List<Long> ids) {
+        if (artistService.deleteArtists(ids)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
 }
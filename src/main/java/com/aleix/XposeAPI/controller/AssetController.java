@@ -1,18 +1,40 @@
 package com.aleix.XposeAPI.controller;
 
 import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetSummary;
+import com.aleix.XposeAPI.model.CursorPage;
+import com.aleix.XposeAPI.model.DiskCacheStats;
+import com.aleix.XposeAPI.model.JobStatus;
 import com.aleix.XposeAPI.model.Serie;
 import com.aleix.XposeAPI.service.AssetService;
 import com.aleix.XposeAPI.service.AssetsFromService;
 import com.aleix.XposeAPI.service.FileUploadService;
+import com.aleix.XposeAPI.service.ImageDerivativeService;
+import com.aleix.XposeAPI.service.ImageVariantService;
+import com.aleix.XposeAPI.service.ResourceVersionService;
+import com.aleix.XposeAPI.service.SparseFieldsetService;
+import com.aleix.XposeAPI.service.StreamingExportService;
+import com.aleix.XposeAPI.specification.AssetSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for managing Asset entities.
@@ -23,9 +45,19 @@ import java.util.Optional;
 @RequestMapping("/assets")
 public class AssetController {
 
+    private static final Set<String> RELATION_SORT_KEYS = Set.of("id", "name", "type", "active");
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final AssetService assetService;
     private final FileUploadService fileUploadService;
     private final AssetsFromService assetsFromService;
+    private final SparseFieldsetService sparseFieldsetService;
+    private final ResourceVersionService resourceVersionService;
+    private final StreamingExportService streamingExportService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageVariantService imageVariantService;
+    private final String serieAssetsCacheControl;
+    private final String imageVariantsCacheControl;
 
     /**
      * Constructor for AssetController.
@@ -33,11 +65,30 @@ public class AssetController {
      * @param assetService Service for Asset entity operations
      * @param fileUploadService Service for file upload operations
      * @param assetsFromService Service for retrieving assets related to series or artists
+     * @param sparseFieldsetService Service for reads narrowed with the fields parameter
+     * @param resourceVersionService Service building the ETags of conditional GETs
+     * @param streamingExportService Service streaming large lists as NDJSON
+     * @param imageDerivativeService Service generating the resized copies of asset images
+     * @param imageVariantService Service resizing asset images on demand
+     * @param serieAssetsCacheControl Cache-Control header of /assets/serie/{id}
+     * @param imageVariantsCacheControl Cache-Control header of /assets/{id}/image
      */
-    public AssetController(AssetService assetService, FileUploadService fileUploadService, AssetsFromService assetsFromService) {
+    public AssetController(AssetService assetService, FileUploadService fileUploadService, AssetsFromService assetsFromService,
+                           SparseFieldsetService sparseFieldsetService, ResourceVersionService resourceVersionService,
+                           StreamingExportService streamingExportService, ImageDerivativeService imageDerivativeService,
+                           ImageVariantService imageVariantService,
+                           @Value("${http.cache-control.serie-assets:no-cache}") String serieAssetsCacheControl,
+                           @Value("${http.cache-control.image-variants:public, max-age=86400}") String imageVariantsCacheControl) {
         this.assetService = assetService;
         this.fileUploadService = fileUploadService;
         this.assetsFromService = assetsFromService;
+        this.sparseFieldsetService = sparseFieldsetService;
+        this.resourceVersionService = resourceVersionService;
+        this.streamingExportService = streamingExportService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageVariantService = imageVariantService;
+        this.serieAssetsCacheControl = serieAssetsCacheControl;
+        this.imageVariantsCacheControl = imageVariantsCacheControl;
     }
 
     /**
@@ -51,25 +102,110 @@ public class AssetController {
     }
 
     /**
-     * Retrieves all assets associated with a specific serie.
+     * Streams all assets as newline-delimited JSON, one asset per line.
+     * Selected with {@code Accept: application/x-ndjson}; memory use does not grow with the number of assets.
+     * 
+     * @return Streaming body of Asset entities ordered by id
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAssets() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.streamAssets(null));
+    }
+
+    /**
+     * Retrieves all assets as summaries for list and grid views.
+     * Use /assets/{id} for the full entity.
+     * 
+     * @return List of AssetSummary projections
+     */
+    @GetMapping("/summary")
+    public List<AssetSummary> getAssetSummaries() {
+        return assetService.getAssetSummaries();
+    }
+
+    /**
+     * Retrieves the assets of a serie as summaries for grid views.
+     * 
+     * @param id The ID of the serie
+     * @return List of AssetSummary projections associated with the serie
+     */
+    @GetMapping("/serie/{id}/summary")
+    public List<AssetSummary> getSerieAssetSummaries(@PathVariable Long id) {
+        return assetsFromService.getAssetSummariesFromSerie(id);
+    }
+
+    /**
+     * Retrieves one window of assets using keyset pagination.
+     * Selected when a limit is given; pass the returned cursor as {@code after} to continue.
+     * 
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of assets to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Asset entities with the cursor of the next window
+     */
+    @GetMapping(params = "limit")
+    public CursorPage<Asset> getAssetsPage(@RequestParam(required = false) String after,
+                                          @RequestParam int limit,
+                                          @RequestParam(defaultValue = "id") String sort) {
+        return assetService.getAssetsPage(after, limit, sort);
+    }
+
+    /**
+     * Retrieves the assets associated with a specific serie.
+     * Without a page parameter every matching asset is returned.
+     * The response carries the catalog ETag; a matching If-None-Match is answered with 304
+     * before any asset is loaded.
      * 
      * @param id The ID of the serie
-     * @return List of Asset entities associated with the serie
+     * @param page Optional zero-based page number
+     * @param size Page size, used only when a page is requested; capped at 500
+     * @param sort Asset property to sort by, one of id, name, type or active
+     * @param direction Sort direction, ASC or DESC
+     * @param webRequest Current request, used to evaluate If-None-Match
+     * @return List of Asset entities associated with the serie, or 304 Not Modified
      */
     @GetMapping("/serie/{id}")
-    public List<Asset> getAllSerieAssets(@PathVariable Long id ){
-        return assetsFromService.getAllAssetsFromSerie(id);
+    public ResponseEntity<List<Asset>> getAllSerieAssets(@PathVariable Long id,
+                                                         @RequestParam(required = false) Integer page,
+                                                         @RequestParam(defaultValue = "50") int size,
+                                                         @RequestParam(defaultValue = "id") String sort,
+                                                         @RequestParam(defaultValue = "ASC") String direction,
+                                                         WebRequest webRequest){
+        Pageable pageable = toPageable(page, size, sort, direction);
+        // Read the version before loading, so a concurrent change can only make the tag older than the body
+        String eTag = resourceVersionService.catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, serieAssetsCacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.CACHE_CONTROL, serieAssetsCacheControl)
+                .body(assetsFromService.getAllAssetsFromSerie(id, pageable));
     }
 
     /**
-     * Retrieves all assets associated with a specific artist.
+     * Retrieves the assets associated with a specific artist.
+     * Without a page parameter every matching asset is returned.
      * 
      * @param id The ID of the artist
+     * @param page Optional zero-based page number
+     * @param size Page size, used only when a page is requested; capped at 500
+     * @param sort Asset property to sort by, one of id, name, type or active
+     * @param direction Sort direction, ASC or DESC
      * @return List of Asset entities associated with the artist
      */
     @GetMapping("/artist/{id}")
-    public List<Asset> getAllArtistAssets(@PathVariable Long id ){
-        return assetsFromService.getAllAssetsFromArtist(id);
+    public List<Asset> getAllArtistAssets(@PathVariable Long id,
+                                          @RequestParam(required = false) Integer page,
+                                          @RequestParam(defaultValue = "50") int size,
+                                          @RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(defaultValue = "ASC") String direction){
+        return assetsFromService.getAllAssetsFromArtist(id, toPageable(page, size, sort, direction));
     }
 
     /**
@@ -86,6 +222,68 @@ public class AssetController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Retrieves the image of an asset resized on demand, e.g. {@code ?w=600&h=400&fit=cover}.
+     * Variants are cached on disk and tagged, so a matching If-None-Match is answered with 304.
+     * 
+     * @param id The ID of the asset
+     * @param w Requested width (optional if h is given)
+     * @param h Requested height (optional if w is given)
+     * @param fit inside (default) to fit within the box, cover to fill it and crop, fill to stretch
+     * @param webRequest Current request, used to evaluate If-None-Match
+     * @return ResponseEntity containing the resized image, 304 Not Modified, or 404 Not Found
+     */
+    @GetMapping("/{id}/image")
+    public ResponseEntity<InputStreamResource> getAssetImage(@PathVariable Long id,
+                                                             @RequestParam(required = false) Integer w,
+                                                             @RequestParam(required = false) Integer h,
+                                                             @RequestParam(defaultValue = "inside") String fit,
+                                                             WebRequest webRequest) {
+        Optional<String> eTag = imageVariantService.getVariantETag(id, w, h, fit);
+        if (eTag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Revalidations are answered from the tag alone, before the cache is read or anything rendered
+        if (webRequest.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag.get())
+                    .header(HttpHeaders.CACHE_CONTROL, imageVariantsCacheControl)
+                    .build();
+        }
+        Optional<ImageVariantService.Variant> found = imageVariantService.getVariant(id, w, h, fit);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ImageVariantService.Variant variant = found.get();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(variant.contentType()))
+                .contentLength(variant.size())
+                .eTag(variant.eTag())
+                .header(HttpHeaders.CACHE_CONTROL, imageVariantsCacheControl)
+                .body(new InputStreamResource(variant.content()));
+    }
+
+    /**
+     * Retrieves hit ratio, eviction and coalescing metrics of the resized image cache.
+     * 
+     * @return Current cache statistics
+     */
+    @GetMapping("/images/cache-stats")
+    public DiskCacheStats getImageCacheStats() {
+        return imageVariantService.getCacheStats();
+    }
+
+    /**
+     * Starts generating the resized images of every asset that does not have them yet.
+     * Progress is reported at /jobs/{id}; calling this while a backfill runs returns that job.
+     * 
+     * @return ResponseEntity with 202 Accepted and the status of the backfill job
+     */
+    @PostMapping("/derivatives/backfill")
+    public ResponseEntity<JobStatus> backfillDerivatives() {
+        return ResponseEntity.accepted().body(imageDerivativeService.startBackfill());
+    }
+
     /**
      * Retrieves a specific asset by its ID.
      * 
@@ -98,6 +296,63 @@ public class AssetController {
         return asset.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the requested fields of all assets, e.g. {@code ?fields=id,url,name}.
+     * 
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per asset
+     */
+    @GetMapping(params = {"fields", "!limit"})
+    public List<Map<String, Object>> getAllAssetsFields(@RequestParam String fields) {
+        return sparseFieldsetService.getAssets(fields, null);
+    }
+
+    /**
+     * Retrieves the requested fields of a specific asset.
+     * 
+     * @param id The ID of the asset to retrieve
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return ResponseEntity containing the field map if found, or 404 Not Found
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getAssetFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        return sparseFieldsetService.getAsset(id, fields).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves the requested fields of the assets associated with a specific serie.
+     * 
+     * @param id The ID of the serie
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per asset associated with the serie
+     */
+    @GetMapping(value = "/serie/{id}", params = "fields")
+    public List<Map<String, Object>> getSerieAssetsFields(@PathVariable Long id, @RequestParam String fields) {
+        return sparseFieldsetService.getAssets(fields, AssetSpecifications.filterAssets(null, null, null, null, id.toString()));
+    }
+
+    /**
+     * Filters assets and returns only the requested fields.
+     * 
+     * @param name Optional name filter
+     * @param type Optional type filter
+     * @param active Optional active status filter
+     * @param artistId Optional artist ID filter
+     * @param collectionId Optional collection ID filter
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per asset matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = {"fields", "!limit"})
+    public List<Map<String, Object>> filterAssetsFields(@RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String type,
+                                                        @RequestParam(required = false) Boolean active,
+                                                        @RequestParam(required = false) String artistId,
+                                                        @RequestParam(required = false) String collectionId,
+                                                        @RequestParam String fields) {
+        return sparseFieldsetService.getAssets(fields,
+                AssetSpecifications.filterAssets(name, type, active, artistId, collectionId));
+    }
+
     /**
      * Filters assets based on provided criteria.
      * 
@@ -117,6 +372,54 @@ public class AssetController {
         return assetService.filterAssets(name, type, active, artistId, collectionId);
     }
 
+    /**
+     * Streams the assets matching the filter as newline-delimited JSON, one asset per line.
+     * Selected with {@code Accept: application/x-ndjson}.
+     * 
+     * @param name Optional name filter
+     * @param type Optional type filter
+     * @param active Optional active status filter
+     * @param artistId Optional artist ID filter
+     * @param collectionId Optional collection ID filter
+     * @return Streaming body of Asset entities matching the filter criteria, ordered by id
+     */
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilteredAssets(@RequestParam(required = false) String name,
+                                                                      @RequestParam(required = false) String type,
+                                                                      @RequestParam(required = false) Boolean active,
+                                                                      @RequestParam(required = false) String artistId,
+                                                                      @RequestParam(required = false) String collectionId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.streamAssets(
+                        AssetSpecifications.filterAssets(name, type, active, artistId, collectionId)));
+    }
+
+    /**
+     * Filters assets based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param type Optional type filter
+     * @param active Optional active status filter
+     * @param artistId Optional artist ID filter
+     * @param collectionId Optional collection ID filter
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of assets to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Asset entities matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = "limit")
+    public CursorPage<Asset> filterAssetsPage(@RequestParam(required = false) String name,
+                                              @RequestParam(required = false) String type,
+                                              @RequestParam(required = false) Boolean active,
+                                              @RequestParam(required = false) String artistId,
+                                              @RequestParam(required = false) String collectionId,
+                                              @RequestParam(required = false) String after,
+                                              @RequestParam int limit,
+                                              @RequestParam(defaultValue = "id") String sort){
+        return assetService.filterAssetsPage(name, type, active, artistId, collectionId, after, limit, sort);
+    }
+
     /**
      * Creates a new asset with an associated file.
      * 
@@ -152,6 +455,65 @@ public class AssetController {
         return updatedAsset.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Creates several assets in one request. Each asset points at a file already in storage; a file uploaded
+     * through /file/upload/presign must be completed with /file/upload/finalize first, and its final URL used here.
+     * 
+     * @param assets The Asset entities to create, at most 1000
+     * @return ResponseEntity containing the created Asset entities, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Asset>> createAssets(@RequestBody List<Asset> assets) {
+        return ResponseEntity.ok(assetService.createAssets(assets));
+    }
+
+    /**
+     * Updates several assets in one request, all or none.
+     * 
+     * @param assets The updated Asset entity data, each with its ID, at most 1000
+     * @return ResponseEntity containing the updated Asset entities, or 404 Not Found if any of them is missing
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<Asset>> updateAssets(@RequestBody List<Asset> assets) {
+        return assetService.updateAssets(assets).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes several assets in one request, all or none.
+     * 
+     * @param ids The IDs of the assets to delete, at most 1000
+     * @return ResponseEntity with no content if deleted, or 404 Not Found if any of them is missing
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteAssets(@RequestBody List<Long> ids) {
+        if (assetService.deleteAssets(ids)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
 
+    /**
+     * Builds the paging request for the relation lookups. The id is always added as a
+     * tie-breaker so pages stay stable when the sort property has duplicate values.
+     * Oversized pages are capped at MAX_PAGE_SIZE; anything else invalid is a 400.
+     */
+    private static Pageable toPageable(Integer page, int size, String sort, String direction) {
+        if (!RELATION_SORT_KEYS.contains(sort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort key: " + sort);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort direction: " + direction));
+        Sort order = Sort.by(sortDirection, sort);
+        if (!"id".equals(sort)) {
+            order = order.and(Sort.by("id"));
+        }
+        if (page == null) {
+            return Pageable.unpaged(order);
+        }
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size >= 1");
+        }
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), order);
+    }
 
 }
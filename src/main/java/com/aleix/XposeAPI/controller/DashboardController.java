@@ -1,9 +1,8 @@
 package com.aleix.XposeAPI.controller;
 
-import com.aleix.XposeAPI.model.Asset;
-import com.aleix.XposeAPI.service.AssetService;
+import com.aleix.XposeAPI.model.DashboardBreakdown;
+import com.aleix.XposeAPI.service.CatalogAnalyticsService;
 import com.aleix.XposeAPI.service.DashboardService;
-import com.aleix.XposeAPI.service.FileUploadService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,9 +14,11 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final CatalogAnalyticsService catalogAnalyticsService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, CatalogAnalyticsService catalogAnalyticsService) {
         this.dashboardService = dashboardService;
+        this.catalogAnalyticsService = catalogAnalyticsService;
     }
 
     /**
@@ -30,4 +31,15 @@ public class DashboardController {
         return dashboardService.getDashboardStats();
     }
 
+    /**
+     * Retrieves the pre-aggregated catalog breakdowns: assets per artist, assets per serie,
+     * active vs inactive assets, assets by type and users created per week.
+     *
+     * @return the current {@link DashboardBreakdown}
+     */
+    @GetMapping("/breakdown")
+    public DashboardBreakdown getDashboardBreakdown() {
+        return catalogAnalyticsService.getBreakdown();
+    }
+
 }
@@ -1,14 +1,26 @@
 package com.aleix.XposeAPI.controller;
 
+import com.aleix.XposeAPI.model.BulkUploadResult;
+import com.aleix.XposeAPI.model.PresignedUpload;
+import com.aleix.XposeAPI.service.BulkUploadService;
+import com.aleix.XposeAPI.service.DirectUploadService;
 import com.aleix.XposeAPI.service.FileUploadService;
+import com.aleix.XposeAPI.service.StorageDeletionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 
 @RestController
@@ -16,10 +28,17 @@ import org.springframework.web.multipart.MultipartFile;
 public class FileUploadController {
 
     private final FileUploadService fileUploadService;
+    private final DirectUploadService directUploadService;
+    private final BulkUploadService bulkUploadService;
+    private final StorageDeletionService storageDeletionService;
 
 
-    public FileUploadController(FileUploadService fileUploadService) {
+    public FileUploadController(FileUploadService fileUploadService, DirectUploadService directUploadService,
+                                BulkUploadService bulkUploadService, StorageDeletionService storageDeletionService) {
         this.fileUploadService = fileUploadService;
+        this.directUploadService = directUploadService;
+        this.bulkUploadService = bulkUploadService;
+        this.storageDeletionService = storageDeletionService;
     }
 
     /**
@@ -56,17 +75,169 @@ public class FileUploadController {
     }
 
     /**
-     * Deletes a file from storage based on the provided URL.
+     * Handles the upload of an image sent as the raw request body, with its metadata as query parameters.
+     * The body is piped to the object store in parallel parts without being buffered by the servlet container,
+     * so large images need neither heap nor temp space. Bodies over uploads.stream.max-size-mb are refused with 413,
+     * and once uploads.stream.max-concurrent uploads are running, further ones get 503.
+     *
+     * @param request the current request, whose body is the image
+     * @param contentType the content type of the image
+     * @param filename the client file name of the image
+     * @param name the name of the image
+     * @param description a description of the image
+     * @param type the type/category of the image
+     * @param active a flag indicating whether the image is active
+     * @param artistId the ID of the artist associated with the image
+     * @param collectionId the ID of the collection the image belongs to
+     * @return a {@link ResponseEntity} containing the URL of the uploaded image if successful,
+     *         or an error message if the upload fails
+     */
+    @PostMapping("/upload/stream")
+    public ResponseEntity<String> uploadImageStream(
+            HttpServletRequest request,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam("filename") String filename,
+            @RequestParam("name") String name,
+            @RequestParam("description") String description,
+            @RequestParam("type") String type,
+            @RequestParam("active") String active,
+            @RequestParam(value = "artistId", defaultValue = "") String artistId,
+            @RequestParam(value = "collectionId", defaultValue = "") String collectionId) {
+
+        // A declared length is checked before reading; the stream itself is limited too, since it may be absent or chunked
+        if (request.getContentLengthLong() > fileUploadService.getMaxStreamSizeBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Upload exceeds " + fileUploadService.getMaxStreamSizeBytes() / (1024 * 1024) + " MiB");
+        }
+        try {
+            String url = fileUploadService.handleImageUpload(request.getInputStream(), filename, contentType,
+                    name, description, type, active, artistId, collectionId);
+            return ResponseEntity.ok("Uploaded as: " + url);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Upload failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the upload of many images at once, as the "images" parts of a multipart request.
+     * Every image becomes an asset named after its file, sharing the other metadata.
+     *
+     * @param files the image files to upload
+     * @param description a description shared by the images
+     * @param type the type/category of the images
+     * @param active a flag indicating whether the images are active
+     * @param artistId the ID of the artist associated with the images
+     * @param collectionId the ID of the collection the images belong to
+     * @return a {@link ResponseEntity} containing one result per image, with its URL or why it failed
+     * @throws Exception if the storage backend cannot be reached
+     */
+    @PostMapping(value = "/upload/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<BulkUploadResult>> uploadImages(
+            @RequestParam("images") List<MultipartFile> files,
+            @RequestParam(value = "description", defaultValue = "") String description,
+            @RequestParam("type") String type,
+            @RequestParam("active") String active,
+            @RequestParam(value = "artistId", defaultValue = "") String artistId,
+            @RequestParam(value = "collectionId", defaultValue = "") String collectionId) throws Exception {
+        return ResponseEntity.ok(bulkUploadService.upload(files, description, type, active, artistId, collectionId));
+    }
+
+    /**
+     * Handles the upload of a ZIP archive of images sent as the raw request body, with the shared metadata
+     * as query parameters. Every file entry becomes an asset named after its file.
+     *
+     * @param request the current request, whose body is the archive
+     * @param description a description shared by the images
+     * @param type the type/category of the images
+     * @param active a flag indicating whether the images are active
+     * @param artistId the ID of the artist associated with the images
+     * @param collectionId the ID of the collection the images belong to
+     * @return a {@link ResponseEntity} containing one result per entry, with its URL or why it failed
+     * @throws Exception if the archive cannot be read or the storage backend cannot be reached
+     */
+    @PostMapping(value = "/upload/bulk", consumes = "application/zip")
+    public ResponseEntity<List<BulkUploadResult>> uploadImageArchive(
+            HttpServletRequest request,
+            @RequestParam(value = "description", defaultValue = "") String description,
+            @RequestParam("type") String type,
+            @RequestParam("active") String active,
+            @RequestParam(value = "artistId", defaultValue = "") String artistId,
+            @RequestParam(value = "collectionId", defaultValue = "") String collectionId) throws Exception {
+        return ResponseEntity.ok(bulkUploadService.uploadZip(request.getInputStream(), description, type, active,
+                artistId, collectionId));
+    }
+
+    /**
+     * Starts a direct upload: returns a presigned URL the client PUTs the file to, straight to object storage.
+     * Once the PUT succeeds, the upload is completed with /file/upload/finalize.
+     *
+     * @param filename the client file name of the image
+     * @return a {@link ResponseEntity} containing the upload URL, object name and upload token
+     * @throws Exception if the upload URL cannot be issued
+     */
+    @PostMapping("/upload/presign")
+    public ResponseEntity<PresignedUpload> presignUpload(@RequestParam("filename") String filename) throws Exception {
+        return ResponseEntity.ok(directUploadService.presign(filename));
+    }
+
+    /**
+     * Completes a direct upload by creating the asset of the uploaded file.
+     *
+     * @param objectName the object name returned by /file/upload/presign
+     * @param uploadToken the upload token returned by /file/upload/presign
+     * @param name the name of the image
+     * @param description a description of the image
+     * @param type the type/category of the image
+     * @param active a flag indicating whether the image is active
+     * @param artistId the ID of the artist associated with the image
+     * @param collectionId the ID of the collection the image belongs to
+     * @return a {@link ResponseEntity} containing the URL of the uploaded image if successful,
+     *         or an error message if the upload fails
+     */
+    @PostMapping("/upload/finalize")
+    public ResponseEntity<String> finalizeUpload(
+            @RequestParam("objectName") String objectName,
+            @RequestParam("uploadToken") String uploadToken,
+            @RequestParam("name") String name,
+            @RequestParam("description") String description,
+            @RequestParam("type") String type,
+            @RequestParam("active") String active,
+            @RequestParam(value = "artistId", defaultValue = "") String artistId,
+            @RequestParam(value = "collectionId", defaultValue = "") String collectionId) {
+
+        try {
+            String url = directUploadService.finalizeUpload(objectName, uploadToken, name, description, type,
+                    active, artistId, collectionId);
+            return ResponseEntity.ok("Uploaded as: " + url);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Upload failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a file from storage based on the provided URL. Files are shared by every asset
+     * with the same content, so a file an asset still uses is refused; the others are removed
+     * in the background through the deletion outbox.
      *
      * @param url the URL of the file to delete
-     * @return a {@link ResponseEntity} confirming deletion if successful,
-     *         or an error message if the deletion fails
+     * @return a {@link ResponseEntity} confirming the deletion was scheduled, 409 if an asset
+     *         still uses the file, or an error message if the deletion fails
      */
     @DeleteMapping("/delete")
     public ResponseEntity<String> deleteFile(@RequestParam("url") String url) {
         try {
-            fileUploadService.deleteObject(url);
-            return ResponseEntity.ok("File deleted successfully");
+            if (!storageDeletionService.enqueueUnreferencedFile(url)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("File is still used by an asset");
+            }
+            return ResponseEntity.accepted().body("File scheduled for deletion");
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,51 @@
+package com.aleix.XposeAPI.controller;
+
+import com.aleix.XposeAPI.model.JobStatus;
+import com.aleix.XposeAPI.service.JobRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller reporting the progress of background jobs.
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+    private final JobRegistry jobRegistry;
+
+    /**
+     * Constructor for JobController.
+     * 
+     * @param jobRegistry Registry of background jobs
+     */
+    public JobController(JobRegistry jobRegistry) {
+        this.jobRegistry = jobRegistry;
+    }
+
+    /**
+     * Retrieves the status of every known job.
+     * 
+     * @return List of job statuses, oldest first
+     */
+    @GetMapping
+    public List<JobStatus> getJobs() {
+        return jobRegistry.getStatuses();
+    }
+
+    /**
+     * Retrieves the status of a job.
+     * 
+     * @param id The ID of the job
+     * @return ResponseEntity containing the job status if found, or 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable String id) {
+        return jobRegistry.getStatus(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.aleix.XposeAPI.controller;
+
+import com.aleix.XposeAPI.model.SearchResult;
+import com.aleix.XposeAPI.service.SearchIndexService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the catalog-wide full-text search.
+ */
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchController(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * Searches assets, artists and series by free text.
+     *
+     * @param q the text to search for; matching is case and accent insensitive
+     * @param limit the maximum number of results to return
+     * @return a list of {@link SearchResult} objects ordered by relevance
+     */
+    @GetMapping
+    public List<SearchResult> search(@RequestParam String q,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return searchIndexService.search(q, Math.max(1, Math.min(limit, 100)));
+    }
+}
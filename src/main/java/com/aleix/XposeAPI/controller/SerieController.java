@@ -1,12 +1,26 @@
 package com.aleix.XposeAPI.controller;
 
-import com.aleix.XposeAPI.model.CollectionsPublicRS;
+import com.aleix.XposeAPI.model.CacheStats;
+import com.aleix.XposeAPI.model.CursorPage;
+import com.aleix.XposeAPI.model.JobStatus;
 import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.model.SerieSummary;
+import com.aleix.XposeAPI.service.CascadeDeletionService;
+import com.aleix.XposeAPI.service.PublicCatalogCache;
+import com.aleix.XposeAPI.service.ResourceVersionService;
 import com.aleix.XposeAPI.service.SerieService;
+import com.aleix.XposeAPI.service.SparseFieldsetService;
+import com.aleix.XposeAPI.specification.SerieSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,14 +32,32 @@ import java.util.Optional;
 public class SerieController {
 
     private final SerieService serieService;
+    private final PublicCatalogCache publicCatalogCache;
+    private final SparseFieldsetService sparseFieldsetService;
+    private final ResourceVersionService resourceVersionService;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final String publicCollectionsCacheControl;
 
     /**
      * Constructor for SerieController.
      * 
      * @param serieService Service for Serie entity operations
+     * @param publicCatalogCache Cache of the serialized public collections
+     * @param sparseFieldsetService Service for reads narrowed with the fields parameter
+     * @param resourceVersionService Service building the ETags of conditional GETs
+     * @param cascadeDeletionService Service deleting a serie with its assets and files
+     * @param publicCollectionsCacheControl Cache-Control header of /series/public-collections
      */
-    public SerieController(SerieService serieService) {
+    public SerieController(SerieService serieService, PublicCatalogCache publicCatalogCache,
+                           SparseFieldsetService sparseFieldsetService, ResourceVersionService resourceVersionService,
+                           CascadeDeletionService cascadeDeletionService,
+                           @Value("${http.cache-control.public-collections:no-cache}") String publicCollectionsCacheControl) {
         this.serieService = serieService;
+        this.publicCatalogCache = publicCatalogCache;
+        this.sparseFieldsetService = sparseFieldsetService;
+        this.resourceVersionService = resourceVersionService;
+        this.cascadeDeletionService = cascadeDeletionService;
+        this.publicCollectionsCacheControl = publicCollectionsCacheControl;
     }
 
     /**
@@ -38,14 +70,66 @@ public class SerieController {
         return serieService.getAllSeries();
     }
 
+    /**
+     * Retrieves all series as summaries for list views.
+     * Use /series/{id} for the full entity.
+     * 
+     * @return List of SerieSummary projections
+     */
+    @GetMapping("/summary")
+    public List<SerieSummary> getSerieSummaries() {
+        return serieService.getSerieSummaries();
+    }
+
+    /**
+     * Retrieves one window of series using keyset pagination.
+     * Selected when a limit is given; pass the returned cursor as {@code after} to continue.
+     * 
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of series to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Serie entities with the cursor of the next window
+     */
+    @GetMapping(params = "limit")
+    public CursorPage<Serie> getSeriesPage(@RequestParam(required = false) String after,
+                                          @RequestParam int limit,
+                                          @RequestParam(defaultValue = "id") String sort) {
+        return serieService.getSeriesPage(after, limit, sort);
+    }
+
     /**
      * Retrieves all public collections with their associated assets.
+     * Served from the in-memory catalog cache as pre-serialized JSON, tagged with the cache version,
+     * so a matching If-None-Match is answered with 304 and no body.
      * 
-     * @return List of public collections with assets
+     * @param webRequest Current request, used to evaluate If-None-Match
+     * @return JSON list of public collections with assets, or 304 Not Modified
      */
     @GetMapping("/public-collections")
-    public List<CollectionsPublicRS> getPublicCollections() {
-        return serieService.getAllPublicSeries();
+    public ResponseEntity<byte[]> getPublicCollections(WebRequest webRequest) {
+        PublicCatalogCache.Snapshot snapshot = publicCatalogCache.get();
+        String eTag = resourceVersionService.eTag(snapshot.version());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, publicCollectionsCacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .header(HttpHeaders.CACHE_CONTROL, publicCollectionsCacheControl)
+                .body(snapshot.json());
+    }
+
+    /**
+     * Retrieves hit, miss and rebuild-time metrics of the public collections cache.
+     * 
+     * @return Current cache statistics
+     */
+    @GetMapping("/public-collections/cache-stats")
+    public CacheStats getPublicCollectionsCacheStats() {
+        return publicCatalogCache.getStats();
     }
 
     /**
@@ -60,6 +144,46 @@ public class SerieController {
         return serie.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the requested fields of all series, e.g. {@code ?fields=id,name}.
+     * 
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per serie
+     */
+    @GetMapping(params = {"fields", "!limit"})
+    public List<Map<String, Object>> getAllSeriesFields(@RequestParam String fields) {
+        return sparseFieldsetService.getSeries(fields, null);
+    }
+
+    /**
+     * Retrieves the requested fields of a specific serie.
+     * 
+     * @param id The ID of the serie to retrieve
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return ResponseEntity containing the field map if found, or 404 Not Found
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getSerieFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        return sparseFieldsetService.getSerie(id, fields).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Filters series and returns only the requested fields.
+     * 
+     * @param name Optional name filter
+     * @param artistId Optional artist ID filter
+     * @param active Optional active status filter
+     * @param fields Comma-separated fields to return; relations are loaded only when listed
+     * @return One field map per serie matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = {"fields", "!limit"})
+    public List<Map<String, Object>> filterSeriesFields(@RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String artistId,
+                                                        @RequestParam(required = false) Boolean active,
+                                                        @RequestParam String fields) {
+        return sparseFieldsetService.getSeries(fields, SerieSpecifications.filterSeries(name, artistId, active));
+    }
+
     /**
      * Filters series based on provided criteria.
      * 
@@ -75,6 +199,27 @@ public class SerieController {
         return serieService.filterSeries(name, artistId, active);
     }
 
+    /**
+     * Filters series based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param artistId Optional artist ID filter
+     * @param active Optional active status filter
+     * @param after Opaque cursor from the previous window (optional)
+     * @param limit Maximum number of series to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Serie entities matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = "limit")
+    public CursorPage<Serie> filterSeriesPage(@RequestParam(required = false) String name,
+                                              @RequestParam(required = false) String artistId,
+                                              @RequestParam(required = false) Boolean active,
+                                              @RequestParam(required = false) String after,
+                                              @RequestParam int limit,
+                                              @RequestParam(defaultValue = "id") String sort) {
+        return serieService.filterSeriesPage(name, artistId, active, after, limit, sort);
+    }
+
     /**
      * Creates a new serie.
      * 
@@ -113,4 +258,54 @@ public class SerieController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Deletes a serie together with the assets that belong to it alone and their stored files.
+     * Shared assets are only unlinked. Runs in the background; follow it with GET /jobs/{jobId}.
+     * 
+     * @param id The ID of the serie to delete
+     * @return ResponseEntity with 202 Accepted and the job status, or 404 Not Found
+     */
+    @DeleteMapping(value = "/{id}", params = "cascade=true")
+    public ResponseEntity<JobStatus> deleteSerieCascade(@PathVariable Long id) {
+        return cascadeDeletionService.deleteSerie(id)
+                .map(status -> ResponseEntity.accepted().body(status))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Creates several series in one request.
+     * 
+     * @param series The Serie entities to create, at most 1000
+     * @return ResponseEntity containing the created Serie entities, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Serie>> createSeries(@RequestBody List<Serie> series) {
+        return ResponseEntity.ok(serieService.createSeries(series));
+    }
+
+    /**
+     * Updates several series in one request, all or none.
+     * 
+     * @param series The updated Serie entity data, each with its ID, at most 1000
+     * @return ResponseEntity containing the updated Serie entities, or 404 Not Found if any of them is missing
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<Serie>> updateSeries(@RequestBody List<Serie> series) {
+        return serieService.updateSeries(series).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes several series in one request, all or none.
+     * 
+     * @param ids The IDs of the series to delete, at most 1000
+     * @return ResponseEntity with no content if deleted, or 404 Not Found if any of them is missing
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteSeries(@RequestBody List<Long> ids) {
+        if (serieService.deleteSeries(ids)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
 }
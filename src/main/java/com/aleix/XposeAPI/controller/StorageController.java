@@ -0,0 +1,129 @@
+package com.aleix.XposeAPI.controller;
+
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import com.aleix.XposeAPI.storage.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * REST controller serving stored files straight from the storage backend.
+ * Supports single byte-range requests, so media can be seeked without downloading it whole.
+ * Files kept on local disk are handed to the servlet container's sendfile support when available.
+ */
+@RestController
+@RequestMapping("/storage")
+public class StorageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ObjectStorage objectStorage;
+    private final Set<String> buckets;
+    private final String cacheControl;
+
+    /**
+     * Constructor for StorageController.
+     *
+     * @param objectStorage Storage backend holding the uploaded files
+     * @param bucketName Bucket holding the assets
+     * @param logoBucketName Bucket holding the logos
+     * @param cacheControl Cache-Control header of served files
+     */
+    public StorageController(ObjectStorage objectStorage,
+                             @Value("${minio.bucket}") String bucketName,
+                             @Value("${minio.logoBucket}") String logoBucketName,
+                             @Value("${http.cache-control.storage:public, max-age=31536000, immutable}") String cacheControl) {
+        this.objectStorage = objectStorage;
+        this.buckets = Set.of(bucketName, logoBucketName);
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * Serves a stored file, or the byte range requested in the Range header.
+     *
+     * @param bucket The bucket holding the file
+     * @param objectName The object name of the file
+     * @param request Current request, used to read the Range header
+     * @param response Response the file bytes are written to
+     * @throws Exception If the file cannot be read or written to the response
+     */
+    @GetMapping("/{bucket}/{objectName:.+}")
+    public void getObject(@PathVariable String bucket, @PathVariable String objectName,
+                          HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (!buckets.contains(bucket)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        Optional<StoredObject> stat = objectStorage.stat(bucket, objectName);
+        if (stat.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        StoredObject object = stat.get();
+        long size = object.size();
+
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range requests are answered with the whole file, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(size);
+                    end = range.getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                if (start >= size) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+
+        response.setContentType(object.contentType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        if (length <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        if (object.localPath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container writes the file with sendfile after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, object.localPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        objectStorage.transferTo(bucket, objectName, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+}
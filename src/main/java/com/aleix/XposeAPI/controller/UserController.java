@@ -1,13 +1,21 @@
 package com.aleix.XposeAPI.controller;
 
+import com.aleix.XposeAPI.model.CursorPage;
 import com.aleix.XposeAPI.model.LoginRequest;
+import com.aleix.XposeAPI.model.LoginResponse;
 import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.model.UserSummary;
+import com.aleix.XposeAPI.service.StreamingExportService;
 import com.aleix.XposeAPI.service.UserService;
+import com.aleix.XposeAPI.specification.UserSpecifications;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 @RestController
@@ -15,9 +23,11 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final StreamingExportService streamingExportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, StreamingExportService streamingExportService) {
         this.userService = userService;
+        this.streamingExportService = streamingExportService;
     }
 
     /**
@@ -30,6 +40,46 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    /**
+     * Streams all users as newline-delimited JSON, one user per line.
+     * Selected with {@code Accept: application/x-ndjson}; memory use does not grow with the number of users.
+     *
+     * @return a streaming body of {@link User} objects ordered by ID
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.streamUsers(null));
+    }
+
+    /**
+     * Retrieves all users as summaries for list views.
+     * Use /users/{id} for the full entity.
+     * 
+     * @return List of UserSummary projections
+     */
+    @GetMapping("/summary")
+    public List<UserSummary> getUserSummaries() {
+        return userService.getUserSummaries();
+    }
+
+    /**
+     * Retrieves one window of users using keyset pagination.
+     * Selected when a limit is given; pass the returned cursor as {@code after} to continue.
+     *
+     * @param after opaque cursor from the previous window (optional)
+     * @param limit maximum number of users to return
+     * @param sort sort key, one of id, name, surname or email
+     * @return a {@link CursorPage} of {@link User} objects
+     */
+    @GetMapping(params = "limit")
+    public CursorPage<User> getUsersPage(@RequestParam(required = false) String after,
+                                         @RequestParam int limit,
+                                         @RequestParam(defaultValue = "id") String sort) {
+        return userService.getUsersPage(after, limit, sort);
+    }
+
     /**
      * Retrieves a user by their ID.
      *
@@ -58,6 +108,45 @@ public class UserController {
         return userService.filterUsers(name, surname, email);
     }
 
+    /**
+     * Streams the users matching the filter as newline-delimited JSON, one user per line.
+     * Selected with {@code Accept: application/x-ndjson}.
+     *
+     * @param name the name of the user (optional)
+     * @param surname the surname of the user (optional)
+     * @param email the email of the user (optional)
+     * @return a streaming body of {@link User} objects matching the filter criteria, ordered by ID
+     */
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilteredUsers(@RequestParam(required = false) String name,
+                                                                     @RequestParam(required = false) String surname,
+                                                                     @RequestParam(required = false) String email) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.streamUsers(UserSpecifications.filterUsers(name, surname, email)));
+    }
+
+    /**
+     * Filters users based on optional query parameters, one keyset window at a time.
+     *
+     * @param name the name of the user (optional)
+     * @param surname the surname of the user (optional)
+     * @param email the email of the user (optional)
+     * @param after opaque cursor from the previous window (optional)
+     * @param limit maximum number of users to return
+     * @param sort sort key, one of id, name, surname or email
+     * @return a {@link CursorPage} of {@link User} objects matching the filter criteria
+     */
+    @GetMapping(value = "/filter", params = "limit")
+    public CursorPage<User> filterUsersPage(@RequestParam(required = false) String name,
+                                            @RequestParam(required = false) String surname,
+                                            @RequestParam(required = false) String email,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam int limit,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        return userService.filterUsersPage(name, surname, email, after, limit, sort);
+    }
+
     /**
      * Creates a new user.
      *
@@ -101,15 +190,16 @@ public class UserController {
 
     /**
      * Authenticates a user with email and password.
+     * The request thread is released while the password is verified.
      *
      * @param loginRequest the login request containing email and password
-     * @return a {@link ResponseEntity} containing the {@link User} if authentication is successful,
-     *         or 404 Not Found if credentials are invalid
+     * @return a {@link ResponseEntity} containing the {@link LoginResponse} with the bearer token
+     *         if authentication is successful, or 404 Not Found if credentials are invalid
      */
     @PostMapping("/login")
-    public ResponseEntity<User> loginUser(@RequestBody LoginRequest loginRequest) {
-        Optional<User> loggedUser = userService.loginUser(loginRequest.getEmail(), loginRequest.getPassword());
-        return loggedUser.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<LoginResponse>> loginUser(@RequestBody LoginRequest loginRequest) {
+        return userService.loginUser(loginRequest.getEmail(), loginRequest.getPassword())
+                .thenApply(loggedUser -> loggedUser.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build()));
     }
 
 
@@ -4,10 +4,15 @@ import com.aleix.XposeAPI.model.Address;
 import com.aleix.XposeAPI.model.ContactInformation;
 import com.aleix.XposeAPI.model.WebsiteSettings;
 import com.aleix.XposeAPI.service.FileUploadService;
+import com.aleix.XposeAPI.service.ResourceVersionService;
 import com.aleix.XposeAPI.service.WebsiteSettingsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -19,10 +24,16 @@ public class WebsiteSettingsController {
 
     private final WebsiteSettingsService websiteSettingsService;
     private final FileUploadService fileUploadService;
+    private final ResourceVersionService resourceVersionService;
+    private final String contactCacheControl;
 
-    public WebsiteSettingsController(WebsiteSettingsService websiteSettingsService, FileUploadService fileUploadService) {
+    public WebsiteSettingsController(WebsiteSettingsService websiteSettingsService, FileUploadService fileUploadService,
+                                     ResourceVersionService resourceVersionService,
+                                     @Value("${http.cache-control.website-contact:no-cache}") String contactCacheControl) {
         this.websiteSettingsService = websiteSettingsService;
         this.fileUploadService = fileUploadService;
+        this.resourceVersionService = resourceVersionService;
+        this.contactCacheControl = contactCacheControl;
     }
 
     /**
@@ -51,18 +62,29 @@ public class WebsiteSettingsController {
     /**
      * Retrieves the most recently added website settings entry.
      * Typically used to fetch the current or active settings, such as contact info for the site.
+     * Served from the in-memory active settings snapshot and tagged with its version,
+     * so a matching If-None-Match is answered with 304 and no body.
      *
+     * @param webRequest the current request, used to evaluate If-None-Match
      * @return a {@link ResponseEntity} containing the latest {@link WebsiteSettings},
-     *         or 404 Not Found if no entries exist
+     *         304 Not Modified if the client copy is current, or 404 Not Found if no entries exist
      */
     @GetMapping("/contact")
-    public ResponseEntity<WebsiteSettings> getLatestWebsiteSettings() {
-        List<WebsiteSettings> websiteSettingsList = websiteSettingsService.getAllWebsiteSettings();
-        if (websiteSettingsList.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<WebsiteSettings> getLatestWebsiteSettings(WebRequest webRequest) {
+        WebsiteSettingsService.ActiveSettings activeSettings = websiteSettingsService.getActiveSettings();
+        String eTag = resourceVersionService.eTag(activeSettings.version());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, contactCacheControl)
+                    .build();
         }
-        WebsiteSettings latestWebsiteSettings = websiteSettingsList.getLast();
-        return ResponseEntity.ok(latestWebsiteSettings);
+        return activeSettings.settings()
+                .map(latestWebsiteSettings -> ResponseEntity.ok()
+                        .eTag(eTag)
+                        .header(HttpHeaders.CACHE_CONTROL, contactCacheControl)
+                        .body(latestWebsiteSettings))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -0,0 +1,19 @@
+package com.aleix.XposeAPI.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published by the services after an entity has been created, updated or deleted.
+ * Listeners use it to keep in-memory views of the catalog in sync with the database.
+ */
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final Class<?> entityType;
+    private final Long entityId;
+    private final ChangeType changeType;
+}
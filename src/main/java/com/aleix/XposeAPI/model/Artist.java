@@ -1,5 +1,7 @@
 package com.aleix.XposeAPI.model;
 
+import com.aleix.XposeAPI.util.TextNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,7 +13,8 @@ import lombok.Setter;
 public class Artist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artist_seq")
+    @SequenceGenerator(name = "artist_seq", sequenceName = "artist_id_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -26,7 +29,30 @@ public class Artist {
     @Column
     private String about;
 
+    @JsonIgnore
+    @Column
+    private String nameSearch;
+
+    @JsonIgnore
+    @Column
+    private String surnameSearch;
+
+    @JsonIgnore
+    @Column
+    private String artisticNameSearch;
+
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "contact_information_id")
     private ContactInformation contactInformation;
+
+    /**
+     * Keeps the normalized search columns in sync with the searchable fields.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        this.nameSearch = TextNormalizer.normalize(name);
+        this.surnameSearch = TextNormalizer.normalize(surname);
+        this.artisticNameSearch = TextNormalizer.normalize(artisticName);
+    }
 }
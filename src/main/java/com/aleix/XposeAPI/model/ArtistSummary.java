@@ -0,0 +1,7 @@
+package com.aleix.XposeAPI.model;
+
+/**
+ * Lightweight read model of an Artist for list views, without the biography or contact information.
+ */
+public record ArtistSummary(Long id, String name, String surname, String artisticName) {
+}
@@ -1,5 +1,7 @@
 package com.aleix.XposeAPI.model;
 
+import com.aleix.XposeAPI.util.TextNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,7 +15,8 @@ import java.util.List;
 public class Asset {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_seq")
+    @SequenceGenerator(name = "asset_seq", sequenceName = "asset_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,14 +31,36 @@ public class Asset {
     @Column(nullable = false)
     private String url;
 
+    /**
+     * Resized copies of the image at url (320, 800 and 1600px wide), filled in after upload.
+     * Equal to url when the original is not larger or is not an image; null while pending.
+     */
+    @Column(length = 512)
+    private String thumbnailUrl;
+
+    @Column(length = 512)
+    private String mediumUrl;
+
+    @Column(length = 512)
+    private String largeUrl;
+
     @Column(nullable = false)
     private boolean active;
 
+    @JsonIgnore
+    @Column
+    private String nameSearch;
+
+    @JsonIgnore
+    @Column
+    private String typeSearch;
+
     @ManyToMany
     @JoinTable(
             name = "asset_authors",
             joinColumns = @JoinColumn(name = "asset_id"),
-            inverseJoinColumns = @JoinColumn(name = "artist_id")
+            inverseJoinColumns = @JoinColumn(name = "artist_id"),
+            indexes = @Index(name = "idx_asset_authors_artist_id", columnList = "artist_id")
     )
     private List<Artist> authors;
 
@@ -43,7 +68,18 @@ public class Asset {
     @JoinTable(
             name = "asset_series",
             joinColumns = @JoinColumn(name = "asset_id"),
-            inverseJoinColumns = @JoinColumn(name = "serie_id")
+            inverseJoinColumns = @JoinColumn(name = "serie_id"),
+            indexes = @Index(name = "idx_asset_series_serie_id", columnList = "serie_id")
     )
     private List<Serie> series;
+
+    /**
+     * Keeps the normalized search columns in sync with the searchable fields.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        this.nameSearch = TextNormalizer.normalize(name);
+        this.typeSearch = TextNormalizer.normalize(type);
+    }
 }
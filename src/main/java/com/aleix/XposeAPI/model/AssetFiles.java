@@ -0,0 +1,13 @@
+package com.aleix.XposeAPI.model;
+
+/**
+ * Stored files of an asset: the original upload and its derivative images.
+ *
+ * @param id Asset ID
+ * @param url URL of the original file
+ * @param thumbnailUrl URL of the thumbnail, null if not generated
+ * @param mediumUrl URL of the medium image, null if not generated
+ * @param largeUrl URL of the large image, null if not generated
+ */
+public record AssetFiles(Long id, String url, String thumbnailUrl, String mediumUrl, String largeUrl) {
+}
@@ -0,0 +1,8 @@
+package com.aleix.XposeAPI.model;
+
+/**
+ * Lightweight read model of an Asset for list and grid views.
+ * Selected column by column, so no relation is loaded.
+ */
+public record AssetSummary(Long id, String name, String type, String url, String thumbnailUrl, boolean active) {
+}
@@ -0,0 +1,16 @@
+package com.aleix.XposeAPI.model;
+
+/**
+ * Outcome of one file of a bulk upload.
+ *
+ * @param filename Client file name, or path of the entry inside the ZIP archive
+ * @param assetId ID of the created asset, null if the file failed
+ * @param url URL of the stored file, null if the file failed
+ * @param error Why the file failed, null if it succeeded
+ */
+public record BulkUploadResult(String filename, Long assetId, String url, String error) {
+
+    public static BulkUploadResult failed(String filename, String error) {
+        return new BulkUploadResult(filename, null, null, error);
+    }
+}
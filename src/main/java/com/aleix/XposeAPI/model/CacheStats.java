@@ -0,0 +1,20 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of the counters of an in-memory cache, exposed for monitoring.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStats {
+
+    private long hits;
+    private long misses;
+    private long rebuilds;
+    private long failedRebuilds;
+    private double lastRebuildMillis;
+    private double averageRebuildMillis;
+    private boolean stale;
+}
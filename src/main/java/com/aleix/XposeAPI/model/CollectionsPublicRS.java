@@ -12,6 +12,7 @@ public class CollectionsPublicRS {
     private Serie serie;
     private List<Asset> assets;
     private String imageUrl;
+    private String thumbnailUrl;
 
 
 }
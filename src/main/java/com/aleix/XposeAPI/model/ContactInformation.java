@@ -12,7 +12,8 @@ import lombok.Setter;
 public class ContactInformation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contact_information_seq")
+    @SequenceGenerator(name = "contact_information_seq", sequenceName = "contact_information_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
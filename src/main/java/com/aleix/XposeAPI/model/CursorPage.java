@@ -0,0 +1,19 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One window of a keyset (cursor) paginated listing.
+ * {@code nextCursor} is opaque to clients and is passed back as {@code after} to fetch the next window.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
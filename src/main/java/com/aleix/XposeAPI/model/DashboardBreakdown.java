@@ -0,0 +1,23 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Pre-aggregated catalog breakdowns shown by the backoffice dashboard.
+ * Weeks are keyed by their Monday (UTC).
+ */
+@Getter
+@AllArgsConstructor
+public class DashboardBreakdown {
+
+    private Map<Long, Long> assetsPerArtist;
+    private Map<Long, Long> assetsPerSerie;
+    private long activeAssets;
+    private long inactiveAssets;
+    private Map<String, Long> assetsByType;
+    private Map<LocalDate, Long> usersPerWeek;
+}
@@ -0,0 +1,21 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of the counters of an on-disk cache, exposed for monitoring.
+ */
+@Getter
+@AllArgsConstructor
+public class DiskCacheStats {
+
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long coalescedRequests;
+    private long evictions;
+    private long entries;
+    private long sizeBytes;
+    private long maxSizeBytes;
+}
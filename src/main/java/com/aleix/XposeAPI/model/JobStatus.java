@@ -0,0 +1,22 @@
+package com.aleix.XposeAPI.model;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time view of a background job.
+ *
+ * @param id Job identifier, used with GET /jobs/{id}
+ * @param type Kind of job, e.g. asset-derivatives-backfill
+ * @param state Current state
+ * @param total Number of items the job expects to process, 0 if unknown
+ * @param processed Number of items processed successfully
+ * @param failed Number of items that failed
+ * @param startedAt When the job started
+ * @param finishedAt When the job finished, null while running
+ * @param error Failure message of a failed job, null otherwise
+ */
+public record JobStatus(String id, String type, State state, long total, long processed, long failed,
+                        Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+}
@@ -0,0 +1,18 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Result of a successful login: the bearer token to send on later requests and the logged-in user.
+ */
+@Getter
+@AllArgsConstructor
+public class LoginResponse {
+
+    private String token;
+    private Instant expiresAt;
+    private UserSummary user;
+}
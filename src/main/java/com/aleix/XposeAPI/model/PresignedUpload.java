@@ -0,0 +1,15 @@
+package com.aleix.XposeAPI.model;
+
+import java.time.Instant;
+
+/**
+ * Instructions for uploading a file straight to object storage.
+ * The client PUTs the file bytes to uploadUrl, then finalizes the upload with objectName and uploadToken.
+ *
+ * @param objectName Object name the file is stored under
+ * @param uploadUrl Presigned URL accepting a single HTTP PUT of the file
+ * @param uploadToken Token proving the object name was issued by this API
+ * @param expiresAt When the upload URL stops accepting uploads
+ */
+public record PresignedUpload(String objectName, String uploadUrl, String uploadToken, Instant expiresAt) {
+}
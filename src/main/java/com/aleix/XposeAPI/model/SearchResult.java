@@ -0,0 +1,17 @@
+package com.aleix.XposeAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A single ranked hit of the catalog-wide search.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+
+    private String type;
+    private Long id;
+    private String title;
+    private double score;
+}
@@ -1,5 +1,7 @@
 package com.aleix.XposeAPI.model;
 
+import com.aleix.XposeAPI.util.TextNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,7 +15,8 @@ import java.util.List;
 public class Serie {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "serie_seq")
+    @SequenceGenerator(name = "serie_seq", sequenceName = "serie_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +28,10 @@ public class Serie {
     @Column(nullable = false)
     private boolean active;
 
+    @JsonIgnore
+    @Column
+    private String nameSearch;
+
     @ManyToMany
     @JoinTable(
             name = "serie_artists",
@@ -33,4 +40,12 @@ public class Serie {
     )
     private List<Artist> artists;
 
+    /**
+     * Keeps the normalized search columns in sync with the searchable fields.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        this.nameSearch = TextNormalizer.normalize(name);
+    }
 }
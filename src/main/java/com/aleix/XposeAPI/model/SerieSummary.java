@@ -0,0 +1,7 @@
+package com.aleix.XposeAPI.model;
+
+/**
+ * Lightweight read model of a Serie for list views, without the description or artists.
+ */
+public record SerieSummary(Long id, String name, boolean active) {
+}
@@ -0,0 +1,65 @@
+package com.aleix.XposeAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Outbox record of a stored object to delete. Written in the same transaction that removes
+ * the rows referencing the object, and drained in the background by StorageDeletionService.
+ */
+@Entity
+@Table(name = "storage_deletion_outbox",
+        indexes = @Index(name = "idx_storage_deletion_outbox_next_attempt_at", columnList = "nextAttemptAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class StorageDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "storage_deletion_outbox_seq")
+    @SequenceGenerator(name = "storage_deletion_outbox_seq", sequenceName = "storage_deletion_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String bucket;
+
+    @Column(nullable = false, length = 512)
+    private String objectName;
+
+    /**
+     * URL assets reference the object by; the deletion is dropped if an asset uses it again.
+     * Null for objects that are not shared.
+     */
+    @Column(length = 512)
+    private String referenceUrl;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public StorageDeletion(String bucket, String objectName, String referenceUrl) {
+        this.bucket = bucket;
+        this.objectName = objectName;
+        this.referenceUrl = referenceUrl;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+}
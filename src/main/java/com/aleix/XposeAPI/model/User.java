@@ -1,5 +1,8 @@
 package com.aleix.XposeAPI.model;
 
+import com.aleix.XposeAPI.util.TextNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,7 +16,8 @@ import java.time.Instant;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,6 +32,7 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String passwordHash;
 
@@ -35,9 +40,36 @@ public class User {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @JsonIgnore
+    @Column
+    private String nameSearch;
+
+    @JsonIgnore
+    @Column
+    private String surnameSearch;
+
+    @JsonIgnore
+    @Column
+    private String emailSearch;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = Instant.now();
+        normalizeSearchColumns();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        normalizeSearchColumns();
+    }
+
+    /**
+     * Keeps the normalized search columns in sync with the searchable fields.
+     */
+    protected void normalizeSearchColumns() {
+        this.nameSearch = TextNormalizer.normalize(name);
+        this.surnameSearch = TextNormalizer.normalize(surname);
+        this.emailSearch = TextNormalizer.normalize(email);
     }
 
 }
@@ -0,0 +1,9 @@
+package com.aleix.XposeAPI.model;
+
+import java.time.Instant;
+
+/**
+ * Lightweight read model of a User for list views. Never carries the password hash.
+ */
+public record UserSummary(Long id, String name, String surname, String username, String email, Instant createdAt) {
+}
@@ -11,7 +11,8 @@ import lombok.Setter;
 public class WebsiteSettings {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "website_settings_seq")
+    @SequenceGenerator(name = "website_settings_seq", sequenceName = "website_settings_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
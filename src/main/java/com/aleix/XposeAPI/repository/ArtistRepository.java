@@ -1,10 +1,38 @@
 package com.aleix.XposeAPI.repository;
 
 import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.ArtistSummary;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 
 public interface ArtistRepository extends JpaRepository<Artist, Long>, JpaSpecificationExecutor<Artist> {
 
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = {"contactInformation", "contactInformation.address"})
+    List<Artist> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"contactInformation", "contactInformation.address"})
+    List<Artist> findAll(Specification<Artist> spec);
+
+    /**
+     * Lists every artist as a summary, selecting only the summary columns.
+     */
+    @Query("select new com.aleix.XposeAPI.model.ArtistSummary(a.id, a.name, a.surname, a.artisticName) from Artist a order by a.id")
+    List<ArtistSummary> findAllSummaries();
+
+    /**
+     * Loads the given artists with their contact information and address in one query.
+     */
+    @EntityGraph(attributePaths = {"contactInformation", "contactInformation.address"})
+    @Query("select a from Artist a where a.id in :ids")
+    List<Artist> fetchContactInformationByIdIn(@Param("ids") Collection<Long> ids);
+}
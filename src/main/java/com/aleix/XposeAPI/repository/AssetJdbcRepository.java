@@ -0,0 +1,95 @@
+package com.aleix.XposeAPI.repository;
+
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.util.TextNormalizer;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes of assets, for inserts too large to go through the entity manager one row at a time.
+ * Each method sends its rows as a single JDBC batch.
+ */
+@Repository
+public class AssetJdbcRepository {
+
+    // Each row takes its own sequence value: an id Hibernate never hands out, as its pooled blocks end at the values it fetched
+    private static final String INSERT_ASSET = "insert into asset (id, name, description, type, url, active, name_search, type_search) "
+            + "values (nextval('asset_id_seq'), ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SERIE_LINK = "insert into asset_series (asset_id, serie_id) values (?, ?)";
+    private static final String INSERT_AUTHOR_LINK = "insert into asset_authors (asset_id, artist_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for AssetJdbcRepository.
+     * 
+     * @param jdbcTemplate Template running the batches on the JPA data source
+     */
+    public AssetJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts new assets and links them to a serie and an artist. The search columns are
+     * normalized here, as the entity callbacks do not run. The generated IDs are set on the assets.
+     * 
+     * @param assets The assets to insert; only their scalar fields are written
+     * @param serieId The serie to link every asset to, or null
+     * @param artistId The artist to link every asset to, or null
+     */
+    public void insertAll(List<Asset> assets, Long serieId, Long artistId) {
+        if (assets.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ASSET, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Asset asset = assets.get(i);
+                        ps.setString(1, asset.getName());
+                        ps.setString(2, asset.getDescription());
+                        ps.setString(3, asset.getType());
+                        ps.setString(4, asset.getUrl());
+                        ps.setBoolean(5, asset.isActive());
+                        ps.setString(6, TextNormalizer.normalize(asset.getName()));
+                        ps.setString(7, TextNormalizer.normalize(asset.getType()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return assets.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(assets.size());
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < assets.size(); i++) {
+            Long id = ((Number) keys.get(i).get("id")).longValue();
+            assets.get(i).setId(id);
+            ids.add(id);
+        }
+
+        if (serieId != null) {
+            jdbcTemplate.batchUpdate(INSERT_SERIE_LINK, ids, ids.size(), (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setLong(2, serieId);
+            });
+        }
+        if (artistId != null) {
+            jdbcTemplate.batchUpdate(INSERT_AUTHOR_LINK, ids, ids.size(), (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setLong(2, artistId);
+            });
+        }
+    }
+}
@@ -1,11 +1,176 @@
 package com.aleix.XposeAPI.repository;
 
-import com.aleix.XposeAPI.model.Artist;
 import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetFiles;
+import com.aleix.XposeAPI.model.AssetSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset> {
 
-}
\ No newline at end of file
+    /**
+     * Finds the assets linked to a serie through the asset_series join table.
+     * Returns a plain list so paging does not trigger an extra count query.
+     */
+    List<Asset> findBySeries_Id(Long serieId, Pageable pageable);
+
+    /**
+     * Finds the assets linked to an artist through the asset_authors join table.
+     * Returns a plain list so paging does not trigger an extra count query.
+     */
+    List<Asset> findByAuthors_Id(Long artistId, Pageable pageable);
+
+    /**
+     * Finds every active asset belonging to an active serie in a single query.
+     * Each row is {serieId, asset}; an asset linked to several series appears once per serie.
+     */
+    @Query("select s.id, a from Asset a join a.series s where s.active = true and a.active = true order by s.id, a.id")
+    List<Object[]> findActiveAssetsOfActiveSeries();
+
+    /**
+     * Lists the analytics dimensions of every asset. Each row is {assetId, active, type}.
+     */
+    @Query("select a.id, a.active, a.type from Asset a")
+    List<Object[]> findAnalyticsRows();
+
+    /**
+     * Lists every asset-artist link. Each row is {assetId, artistId}.
+     */
+    @Query("select a.id, au.id from Asset a join a.authors au")
+    List<Object[]> findAuthorLinks();
+
+    /**
+     * Lists every asset-serie link. Each row is {assetId, serieId}.
+     */
+    @Query("select a.id, s.id from Asset a join a.series s")
+    List<Object[]> findSerieLinks();
+
+    /**
+     * Lists every asset as a summary, selecting only the summary columns.
+     */
+    @Query("select new com.aleix.XposeAPI.model.AssetSummary(a.id, a.name, a.type, a.url, a.thumbnailUrl, a.active) from Asset a order by a.id")
+    List<AssetSummary> findAllSummaries();
+
+    /**
+     * Lists the assets of a serie as summaries, selecting only the summary columns.
+     */
+    @Query("select new com.aleix.XposeAPI.model.AssetSummary(a.id, a.name, a.type, a.url, a.thumbnailUrl, a.active) "
+            + "from Asset a join a.series s where s.id = :serieId order by a.id")
+    List<AssetSummary> findSummariesBySerieId(@Param("serieId") Long serieId);
+
+    /**
+     * Fetch plan step: initializes the authors (with their contact information) of already loaded assets.
+     */
+    @EntityGraph(attributePaths = {"authors", "authors.contactInformation", "authors.contactInformation.address"})
+    @Query("select a from Asset a where a.id in :ids")
+    List<Asset> fetchAuthorsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fetch plan step: initializes the series of already loaded assets.
+     */
+    @EntityGraph(attributePaths = {"series"})
+    @Query("select a from Asset a where a.id in :ids")
+    List<Asset> fetchSeriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lists, in id order, the assets whose derivative images have not been generated yet.
+     */
+    @Query("select a.id from Asset a where a.thumbnailUrl is null and a.id > :afterId order by a.id")
+    List<Long> findIdsMissingDerivatives(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Finds the URL of an asset's file without loading the asset.
+     */
+    @Query("select a.url from Asset a where a.id = :id")
+    Optional<String> findUrlById(@Param("id") Long id);
+
+    /**
+     * Checks whether an asset already points at a stored file.
+     */
+    boolean existsByUrl(String url);
+
+    /**
+     * Counts the assets pointing at a stored file. Uploads are content-addressed, so identical
+     * files share one object and this is its reference count.
+     */
+    long countByUrl(String url);
+
+    /**
+     * Finds an asset sharing a stored file whose derivative images are already generated.
+     */
+    Optional<Asset> findFirstByUrlAndThumbnailUrlIsNotNull(String url);
+
+    /**
+     * Counts the assets whose derivative images have not been generated yet.
+     */
+    long countByThumbnailUrlIsNull();
+
+    /**
+     * Records the derivative image URLs of an asset, unless its url changed in the meantime.
+     * Returns the number of updated rows.
+     */
+    @Modifying
+    @Query("update Asset a set a.thumbnailUrl = :thumbnailUrl, a.mediumUrl = :mediumUrl, a.largeUrl = :largeUrl "
+            + "where a.id = :id and a.url = :url")
+    int updateDerivatives(@Param("id") Long id, @Param("url") String url, @Param("thumbnailUrl") String thumbnailUrl,
+                          @Param("mediumUrl") String mediumUrl, @Param("largeUrl") String largeUrl);
+
+    /**
+     * Lists the stored files of the assets linked to this serie and to no other.
+     */
+    @Query("select new com.aleix.XposeAPI.model.AssetFiles(a.id, a.url, a.thumbnailUrl, a.mediumUrl, a.largeUrl) "
+            + "from Asset a join a.series s where s.id = :serieId and size(a.series) = 1")
+    List<AssetFiles> findFilesExclusiveToSerie(@Param("serieId") Long serieId);
+
+    /**
+     * Lists the stored files of the assets authored by this artist alone.
+     */
+    @Query("select new com.aleix.XposeAPI.model.AssetFiles(a.id, a.url, a.thumbnailUrl, a.mediumUrl, a.largeUrl) "
+            + "from Asset a join a.authors au where au.id = :artistId and size(a.authors) = 1")
+    List<AssetFiles> findFilesExclusiveToArtist(@Param("artistId") Long artistId);
+
+    /**
+     * Lists which of these file URLs are still referenced by an asset.
+     */
+    @Query("select distinct a.url from Asset a where a.url in :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+
+    /**
+     * Checks whether an asset uses a stored file, as its original or as one of its derivative images.
+     */
+    @Query("select count(a) > 0 from Asset a "
+            + "where a.url = :url or a.thumbnailUrl = :url or a.mediumUrl = :url or a.largeUrl = :url")
+    boolean isFileReferenced(@Param("url") String url);
+
+    /**
+     * Deletes assets in bulk. Their asset_authors and asset_series rows are removed with them.
+     * Returns the number of deleted assets.
+     */
+    @Modifying
+    @Query("delete from Asset a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Unlinks every asset from a serie. Returns the number of removed links.
+     */
+    @Modifying
+    @Query(value = "delete from asset_series where serie_id = :serieId", nativeQuery = true)
+    int unlinkSerie(@Param("serieId") Long serieId);
+
+    /**
+     * Unlinks every asset from an artist. Returns the number of removed links.
+     */
+    @Modifying
+    @Query(value = "delete from asset_authors where artist_id = :artistId", nativeQuery = true)
+    int unlinkArtist(@Param("artistId") Long artistId);
+}
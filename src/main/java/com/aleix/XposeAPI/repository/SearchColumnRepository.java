@@ -0,0 +1,83 @@
+package com.aleix.XposeAPI.repository;
+
+import com.aleix.XposeAPI.util.TextNormalizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC maintenance of the *_search columns, which the entity callbacks only write for new changes.
+ */
+@Repository
+public class SearchColumnRepository {
+
+    private static final String SEARCH_SUFFIX = "_search";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for SearchColumnRepository.
+     *
+     * @param jdbcTemplate Template running the scans and batches on the JPA data source
+     */
+    public SearchColumnRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rewrites the search columns of every row whose stored values differ from what TextNormalizer
+     * gives for their source columns. A row whose source changed since the scan is left alone,
+     * as whatever changed it wrote its search columns too. The updates are sent as one JDBC batch.
+     *
+     * @param table The table to scan
+     * @param sourceColumns The searchable columns, each with a companion column named with the _search suffix
+     * @return Number of rewritten rows
+     */
+    public int normalizeAll(String table, List<String> sourceColumns) {
+        int count = sourceColumns.size();
+        String select = "select id, " + String.join(", ", sourceColumns) + ", "
+                + sourceColumns.stream().map(column -> column + SEARCH_SUFFIX).collect(Collectors.joining(", "))
+                + " from " + table;
+        String update = "update " + table + " set "
+                + sourceColumns.stream().map(column -> column + SEARCH_SUFFIX + " = ?").collect(Collectors.joining(", "))
+                + " where id = ? and "
+                + sourceColumns.stream().map(column -> column + " is not distinct from ?").collect(Collectors.joining(" and "));
+
+        // Each row is {normalized values..., id, source values...}, in the order of the update parameters
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(select, (RowCallbackHandler) resultSet -> {
+            Object[] row = new Object[2 * count + 1];
+            boolean stale = false;
+            for (int i = 0; i < count; i++) {
+                String source = resultSet.getString(2 + i);
+                String normalized = TextNormalizer.normalize(source);
+                stale |= !Objects.equals(normalized, resultSet.getString(2 + count + i));
+                row[i] = normalized;
+                row[count + 1 + i] = source;
+            }
+            row[count] = resultSet.getLong(1);
+            if (stale) {
+                rows.add(row);
+            }
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        int[] types = new int[2 * count + 1];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = i == count ? Types.BIGINT : Types.VARCHAR;
+        }
+        int rewritten = 0;
+        for (int updated : jdbcTemplate.batchUpdate(update, rows, types)) {
+            rewritten += Math.max(0, updated);
+        }
+        return rewritten;
+    }
+}
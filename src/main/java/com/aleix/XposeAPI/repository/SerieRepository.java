@@ -1,14 +1,39 @@
 package com.aleix.XposeAPI.repository;
 
-import com.aleix.XposeAPI.model.Artist;
 import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.model.SerieSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
 public interface SerieRepository extends JpaRepository<Serie, Long>, JpaSpecificationExecutor<Serie> {
 
     List<Serie> findByActiveTrue();
+
+    /**
+     * Lists every serie as a summary, selecting only the summary columns.
+     */
+    @Query("select new com.aleix.XposeAPI.model.SerieSummary(s.id, s.name, s.active) from Serie s order by s.id")
+    List<SerieSummary> findAllSummaries();
+
+    /**
+     * Fetch plan step: initializes the artists (with their contact information) of already loaded series.
+     */
+    @EntityGraph(attributePaths = {"artists", "artists.contactInformation", "artists.contactInformation.address"})
+    @Query("select s from Serie s where s.id in :ids")
+    List<Serie> fetchArtistsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Removes an artist from every serie. Returns the number of removed links.
+     */
+    @Modifying
+    @Query(value = "delete from serie_artists where artist_id = :artistId", nativeQuery = true)
+    int unlinkArtist(@Param("artistId") Long artistId);
 }
@@ -0,0 +1,27 @@
+package com.aleix.XposeAPI.repository;
+
+import com.aleix.XposeAPI.model.StorageDeletion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    /**
+     * Claims the deletions that are due, oldest first. Rows already claimed by another
+     * instance are skipped (FOR UPDATE SKIP LOCKED) instead of waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select d from StorageDeletion d where d.nextAttemptAt <= :now order by d.nextAttemptAt, d.id")
+    List<StorageDeletion> claimDue(@Param("now") Instant now, Pageable pageable);
+}
@@ -0,0 +1,63 @@
+package com.aleix.XposeAPI.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+/**
+ * Transaction-scoped PostgreSQL advisory locks on stored files, keyed by the URL assets reference them by.
+ * An upload that reuses an existing object and the outbox deleting that object both take its lock,
+ * so a deletion can never fall between the upload's existence check and the commit of its asset.
+ * Locks are released when the transaction ends.
+ */
+@Repository
+public class StorageLockRepository {
+
+    // The keys are sorted in the subquery, so transactions locking overlapping sets take them in the same order
+    private static final String LOCK_ALL = "select count(*) from (select pg_advisory_xact_lock(k) "
+            + "from (select unnest(?) as k order by 1) as ordered_keys) as locks";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for StorageLockRepository.
+     *
+     * @param jdbcTemplate Template running the lock statements in the current transaction
+     */
+    public StorageLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the files behind these URLs until the current transaction ends, waiting for other holders.
+     *
+     * @param urls URLs of the files; duplicates and nulls are ignored
+     */
+    public void lock(Collection<String> urls) {
+        Long[] keys = urls.stream().filter(url -> url != null).map(StorageLockRepository::keyOf)
+                .distinct().toArray(Long[]::new);
+        if (keys.length == 0) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_ALL);
+            statement.setArray(1, connection.createArrayOf("bigint", keys));
+            return statement;
+        }, resultSet -> null);
+    }
+
+    private static long keyOf(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
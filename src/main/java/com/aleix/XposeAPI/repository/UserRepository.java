@@ -1,14 +1,41 @@
 package com.aleix.XposeAPI.repository;
 
 import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.model.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
 
-    Optional<User> findByEmailAndPasswordHash(String email, String password);
-}
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Lists the creation time of every user. Each row is {userId, createdAt}.
+     */
+    @Query("select u.id, u.createdAt from User u")
+    List<Object[]> findCreationDates();
 
+    /**
+     * Lists every user as a summary, selecting only the summary columns.
+     */
+    @Query("select new com.aleix.XposeAPI.model.UserSummary(u.id, u.name, u.surname, u.username, u.email, u.createdAt) from User u order by u.id")
+    List<UserSummary> findAllSummaries();
+
+    /**
+     * Replaces a stored password with its hash, unless it changed since it was read.
+     * Only that column is written, so concurrent updates to the user are kept.
+     * Returns the number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.passwordHash = :hash where u.id = :id and u.passwordHash = :previous")
+    int upgradePasswordHash(@Param("id") Long id, @Param("previous") String previous, @Param("hash") String hash);
+}
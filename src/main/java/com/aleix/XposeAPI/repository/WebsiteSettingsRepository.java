@@ -1,10 +1,18 @@
 package com.aleix.XposeAPI.repository;
 
 import com.aleix.XposeAPI.model.WebsiteSettings;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface WebsiteSettingsRepository extends JpaRepository<WebsiteSettings, Long> {
-    // Basic CRUD operations are provided by JpaRepository
-}
\ No newline at end of file
+
+    /**
+     * Finds the most recently added settings entry, with its contact information and address, in one query.
+     */
+    @EntityGraph(attributePaths = {"contactInformation", "contactInformation.address"})
+    Optional<WebsiteSettings> findFirstByOrderByIdDesc();
+}
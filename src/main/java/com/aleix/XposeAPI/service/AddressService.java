@@ -1,7 +1,9 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
 import com.aleix.XposeAPI.model.Address;
 import com.aleix.XposeAPI.repository.AddressRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -15,14 +17,17 @@ import java.util.Optional;
 public class AddressService {
 
     private final AddressRepository addressRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for AddressService.
      * 
      * @param addressRepository Repository for Address entity operations
+     * @param eventPublisher Publisher notifying listeners of committed address changes
      */
-    public AddressService(AddressRepository addressRepository) {
+    public AddressService(AddressRepository addressRepository, ApplicationEventPublisher eventPublisher) {
         this.addressRepository = addressRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,7 +56,9 @@ public class AddressService {
      * @return The saved Address entity with generated ID
      */
     public Address createAddress(Address address) {
-        return addressRepository.save(address);
+        Address savedAddress = addressRepository.save(address);
+        eventPublisher.publishEvent(new EntityChangedEvent(Address.class, savedAddress.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedAddress;
     }
 
     /**
@@ -68,7 +75,9 @@ public class AddressService {
             address.setNumber(addressDetails.getNumber());
             address.setPostalCode(addressDetails.getPostalCode());
             address.setCountry(addressDetails.getCountry());
-            return addressRepository.save(address);
+            Address savedAddress = addressRepository.save(address);
+            eventPublisher.publishEvent(new EntityChangedEvent(Address.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedAddress;
         });
     }
 
@@ -81,6 +90,7 @@ public class AddressService {
     public boolean deleteAddress(Long id) {
         if (addressRepository.existsById(id)) {
             addressRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(Address.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
@@ -1,13 +1,21 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
 import com.aleix.XposeAPI.model.Artist;
-import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.model.ArtistSummary;
+import com.aleix.XposeAPI.model.CursorPage;
 import com.aleix.XposeAPI.repository.ArtistRepository;
 import com.aleix.XposeAPI.specification.ArtistSpecifications;
-import com.aleix.XposeAPI.specification.UserSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing Artist entities.
@@ -16,15 +24,21 @@ import java.util.Optional;
 @Service
 public class ArtistService {
 
+    // Artist name columns are nullable, so only the id is a safe seek key
+    private static final Set<String> SORT_KEYS = Set.of("id");
+
     private final ArtistRepository artistRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for ArtistService.
      * 
      * @param artistRepository Repository for Artist entity operations
+     * @param eventPublisher Publisher for artist change events
      */
-    public ArtistService(ArtistRepository artistRepository) {
+    public ArtistService(ArtistRepository artistRepository, ApplicationEventPublisher eventPublisher) {
         this.artistRepository = artistRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -36,6 +50,15 @@ public class ArtistService {
         return artistRepository.findAll();
     }
 
+    /**
+     * Retrieves all artists as summaries, without biography or contact information.
+     * 
+     * @return List of ArtistSummary projections
+     */
+    public List<ArtistSummary> getArtistSummaries() {
+        return artistRepository.findAllSummaries();
+    }
+
     /**
      * Retrieves a specific artist by its ID.
      * 
@@ -53,7 +76,9 @@ public class ArtistService {
      * @return The saved Artist entity with generated ID
      */
     public Artist createArtist(Artist artist) {
-        return artistRepository.save(artist);
+        Artist savedArtist = artistRepository.save(artist);
+        eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, savedArtist.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedArtist;
     }
 
     /**
@@ -65,12 +90,10 @@ public class ArtistService {
      */
     public Optional<Artist> updateArtist(Long id, Artist artistDetails) {
         return artistRepository.findById(id).map(artist -> {
-            artist.setName(artistDetails.getName());
-            artist.setSurname(artistDetails.getSurname());
-            artist.setArtisticName(artistDetails.getArtisticName());
-            artist.setContactInformation(artistDetails.getContactInformation());
-            artist.setAbout(artistDetails.getAbout());
-            return artistRepository.save(artist);
+            applyDetails(artist, artistDetails);
+            Artist savedArtist = artistRepository.save(artist);
+            eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedArtist;
         });
     }
 
@@ -83,11 +106,83 @@ public class ArtistService {
     public boolean deleteArtist(Long id) {
         if (artistRepository.existsById(id)) {
             artistRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
     }
 
+    /**
+     * Creates several artists at once, with their contact information. The inserts are sent in JDBC batches.
+     * 
+     * @param artists The Artist entities to create
+     * @return The saved Artist entities with generated IDs, in request order
+     */
+    @Transactional
+    public List<Artist> createArtists(List<Artist> artists) {
+        BatchRequests.checkSize(artists);
+        List<Artist> savedArtists = artistRepository.saveAll(artists);
+        for (Artist savedArtist : savedArtists) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, savedArtist.getId(), EntityChangedEvent.ChangeType.CREATED));
+        }
+        return savedArtists;
+    }
+
+    /**
+     * Updates several artists at once, all or none. The updates are sent in JDBC batches.
+     * 
+     * @param artistsDetails The updated Artist entity data, each with the ID of the artist to update
+     * @return Optional containing the updated Artists in request order, empty if any of them wasn't found
+     */
+    @Transactional
+    public Optional<List<Artist>> updateArtists(List<Artist> artistsDetails) {
+        Map<Long, Artist> artists = new HashMap<>();
+        for (Artist artist : artistRepository.findAllById(BatchRequests.ids(artistsDetails, Artist::getId))) {
+            artists.put(artist.getId(), artist);
+        }
+        List<Artist> updatedArtists = new ArrayList<>(artistsDetails.size());
+        for (Artist artistDetails : artistsDetails) {
+            Artist artist = artists.get(artistDetails.getId());
+            if (artist == null) {
+                return Optional.empty();
+            }
+            applyDetails(artist, artistDetails);
+            updatedArtists.add(artist);
+        }
+        for (Artist artist : updatedArtists) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, artist.getId(), EntityChangedEvent.ChangeType.UPDATED));
+        }
+        return Optional.of(updatedArtists);
+    }
+
+    /**
+     * Deletes several artists at once, all or none. The deletes are sent in JDBC batches.
+     * 
+     * @param ids The IDs of the artists to delete
+     * @return true if the artists were deleted, false if any of them wasn't found
+     */
+    @Transactional
+    public boolean deleteArtists(List<Long> ids) {
+        BatchRequests.checkSize(ids);
+        List<Artist> artists = artistRepository.findAllById(ids);
+        if (artists.size() != ids.stream().distinct().count()) {
+            return false;
+        }
+        artistRepository.deleteAll(artists);
+        for (Artist artist : artists) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Artist.class, artist.getId(), EntityChangedEvent.ChangeType.DELETED));
+        }
+        return true;
+    }
+
+    private void applyDetails(Artist artist, Artist artistDetails) {
+        artist.setName(artistDetails.getName());
+        artist.setSurname(artistDetails.getSurname());
+        artist.setArtisticName(artistDetails.getArtisticName());
+        artist.setContactInformation(artistDetails.getContactInformation());
+        artist.setAbout(artistDetails.getAbout());
+    }
+
     /**
      * Filters artists based on provided criteria.
      * 
@@ -99,4 +194,31 @@ public class ArtistService {
     public List<Artist> filterArtists (String name, String surname, String artisticName){
         return artistRepository.findAll(ArtistSpecifications.filterArtists(name, surname, artisticName));
     }
+
+    /**
+     * Retrieves one window of artists using keyset pagination.
+     * 
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of artists to return
+     * @param sort Sort key, only id is supported
+     * @return Window of Artist entities with the cursor of the next window
+     */
+    public CursorPage<Artist> getArtistsPage(String after, int limit, String sort) {
+        return KeysetPagination.fetch(artistRepository, null, sort, SORT_KEYS, after, limit);
+    }
+
+    /**
+     * Filters artists based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param surname Optional surname filter
+     * @param artisticName Optional artistic name filter
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of artists to return
+     * @param sort Sort key, only id is supported
+     * @return Window of Artist entities matching the filter criteria
+     */
+    public CursorPage<Artist> filterArtistsPage(String name, String surname, String artisticName, String after, int limit, String sort) {
+        return KeysetPagination.fetch(artistRepository, ArtistSpecifications.filterArtists(name, surname, artisticName), sort, SORT_KEYS, after, limit);
+    }
 }
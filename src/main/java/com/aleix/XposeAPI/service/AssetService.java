@@ -1,15 +1,25 @@
 package com.aleix.XposeAPI.service;
 
-import com.aleix.XposeAPI.controller.FileUploadController;
+import com.aleix.XposeAPI.event.EntityChangedEvent;
 import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetSummary;
+import com.aleix.XposeAPI.model.CursorPage;
 import com.aleix.XposeAPI.repository.AssetRepository;
-import com.aleix.XposeAPI.specification.ArtistSpecifications;
 import com.aleix.XposeAPI.specification.AssetSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing Asset entities.
@@ -19,18 +29,31 @@ import java.util.Optional;
 @Service
 public class AssetService {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "name");
+
     private final AssetRepository assetRepository;
     private final FileUploadService fileUploadService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FetchPlanService fetchPlanService;
+    private final StorageDeletionService storageDeletionService;
 
     /**
      * Constructor for AssetService.
      * 
      * @param assetRepository Repository for Asset entity operations
      * @param fileUploadService Service for file upload operations
+     * @param eventPublisher Publisher for asset change events
+     * @param fetchPlanService Service initializing the relations serialized with assets
+     * @param storageDeletionService Outbox removing the files of deleted assets and replaced files
      */
-    public AssetService(AssetRepository assetRepository, FileUploadService fileUploadService) {
+    public AssetService(AssetRepository assetRepository, FileUploadService fileUploadService,
+                        ApplicationEventPublisher eventPublisher, FetchPlanService fetchPlanService,
+                        StorageDeletionService storageDeletionService) {
         this.assetRepository = assetRepository;
         this.fileUploadService = fileUploadService;
+        this.eventPublisher = eventPublisher;
+        this.fetchPlanService = fetchPlanService;
+        this.storageDeletionService = storageDeletionService;
     }
 
     /**
@@ -38,8 +61,19 @@ public class AssetService {
      * 
      * @return List of all Asset entities
      */
+    @Transactional(readOnly = true)
     public List<Asset> getAllAssets() {
-        return assetRepository.findAll();
+        return fetchPlanService.withRelations(assetRepository.findAll());
+    }
+
+    /**
+     * Retrieves all assets as summaries, without authors or series.
+     * 
+     * @return List of AssetSummary projections
+     */
+    @Transactional(readOnly = true)
+    public List<AssetSummary> getAssetSummaries() {
+        return assetRepository.findAllSummaries();
     }
 
     /**
@@ -48,8 +82,9 @@ public class AssetService {
      * @param id The ID of the asset to retrieve
      * @return Optional containing the Asset if found, empty otherwise
      */
+    @Transactional(readOnly = true)
     public Optional<Asset> getAssetById(Long id) {
-        return assetRepository.findById(id);
+        return assetRepository.findById(id).map(fetchPlanService::withRelations);
     }
 
     /**
@@ -62,53 +97,146 @@ public class AssetService {
      */
     public Asset createAsset(Asset asset, MultipartFile file) throws Exception {
         asset.setUrl(fileUploadService.uploadFile(file));
-        return assetRepository.save(asset);
+        Asset savedAsset = assetRepository.save(asset);
+        eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, savedAsset.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedAsset;
     }
 
     /**
-     * Updates an existing asset with new details.
+     * Updates an existing asset with new details. When its file changes, the previous file
+     * and its derivatives are scheduled for removal once no other asset shares them.
      * 
      * @param id The ID of the asset to update
      * @param assetDetails The updated Asset entity data
      * @return Optional containing the updated Asset if found, empty otherwise
      */
+    @Transactional
     public Optional<Asset> updateAsset(Long id, Asset assetDetails) {
         return assetRepository.findById(id).map(asset -> {
-            asset.setName(assetDetails.getName());
-            asset.setDescription(assetDetails.getDescription());
-            asset.setType(assetDetails.getType());
-            asset.setActive(assetDetails.isActive() );
-            asset.setAuthors(assetDetails.getAuthors());
-            asset.setSeries(assetDetails.getSeries());
-            asset.setUrl(assetDetails.getUrl());
-            return assetRepository.save(asset);
+            applyDetails(asset, assetDetails);
+            Asset savedAsset = assetRepository.save(asset);
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedAsset;
         });
     }
 
     /**
-     * Deletes an asset by its ID and removes the associated file.
+     * Deletes an asset by its ID and schedules the removal of the associated files.
+     * The files are removed in the background once no other asset shares them.
      * 
      * @param id The ID of the asset to delete
      * @return true if the asset was deleted, false if it wasn't found
-     * @throws RuntimeException If there's an error during file deletion
      */
+    @Transactional
     public boolean deleteAsset(Long id) {
-        if (assetRepository.existsById(id) && assetRepository.findById(id).isPresent()) {
-
-            Asset asset = assetRepository.findById(id).get();
-
-            try {
+        Optional<Asset> asset = assetRepository.findById(id);
+        if (asset.isEmpty()) {
+            return false;
+        }
+        // The files are removed after commit by the outbox worker, once no other asset shares them
+        storageDeletionService.enqueueAssetFiles(asset.get());
+        assetRepository.delete(asset.get());
+        eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, id, EntityChangedEvent.ChangeType.DELETED));
+        return true;
+    }
 
-                fileUploadService.deleteObject(asset.getUrl());
+    /**
+     * Creates several assets at once for files already in storage, e.g. direct uploads completed
+     * through /file/upload/finalize. Each file must exist and must not be a staging object; it stays
+     * locked against the deletion outbox until the assets commit. The inserts are sent in JDBC batches.
+     * 
+     * @param assets The Asset entities to create, each with the URL of its file
+     * @return The saved Asset entities with generated IDs, in request order
+     */
+    @Transactional
+    public List<Asset> createAssets(List<Asset> assets) {
+        BatchRequests.checkSize(assets);
+        List<String> urls = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            if (asset.getUrl() == null || asset.getUrl().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every asset of a batch needs a url");
+            }
+            urls.add(asset.getUrl());
+        }
+        List<String> storedUrls = fileUploadService.lockStoredAssetFiles(urls);
+        for (int i = 0; i < assets.size(); i++) {
+            assets.get(i).setUrl(storedUrls.get(i));
+        }
+        List<Asset> savedAssets = assetRepository.saveAll(assets);
+        for (Asset savedAsset : savedAssets) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, savedAsset.getId(), EntityChangedEvent.ChangeType.CREATED));
+        }
+        return savedAssets;
+    }
 
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+    /**
+     * Updates several assets at once, all or none, scheduling the removal of replaced files.
+     * The updates are sent in JDBC batches.
+     * 
+     * @param assetsDetails The updated Asset entity data, each with the ID of the asset to update
+     * @return Optional containing the updated Assets in request order, empty if any of them wasn't found
+     */
+    @Transactional
+    public Optional<List<Asset>> updateAssets(List<Asset> assetsDetails) {
+        Map<Long, Asset> assets = new HashMap<>();
+        for (Asset asset : assetRepository.findAllById(BatchRequests.ids(assetsDetails, Asset::getId))) {
+            assets.put(asset.getId(), asset);
+        }
+        List<Asset> updatedAssets = new ArrayList<>(assetsDetails.size());
+        for (Asset assetDetails : assetsDetails) {
+            Asset asset = assets.get(assetDetails.getId());
+            if (asset == null) {
+                return Optional.empty();
             }
+            applyDetails(asset, assetDetails);
+            updatedAssets.add(asset);
+        }
+        for (Asset asset : updatedAssets) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, asset.getId(), EntityChangedEvent.ChangeType.UPDATED));
+        }
+        return Optional.of(updatedAssets);
+    }
+
+    /**
+     * Deletes several assets at once, all or none, and schedules the removal of their files.
+     * The deletes are sent in JDBC batches.
+     * 
+     * @param ids The IDs of the assets to delete
+     * @return true if the assets were deleted, false if any of them wasn't found
+     */
+    @Transactional
+    public boolean deleteAssets(List<Long> ids) {
+        BatchRequests.checkSize(ids);
+        List<Asset> assets = assetRepository.findAllById(ids);
+        if (assets.size() != ids.stream().distinct().count()) {
+            return false;
+        }
+        for (Asset asset : assets) {
+            storageDeletionService.enqueueAssetFiles(asset);
+        }
+        assetRepository.deleteAll(assets);
+        for (Asset asset : assets) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, asset.getId(), EntityChangedEvent.ChangeType.DELETED));
+        }
+        return true;
+    }
 
-            assetRepository.deleteById(id);
-            return true;
+    private void applyDetails(Asset asset, Asset assetDetails) {
+        asset.setName(assetDetails.getName());
+        asset.setDescription(assetDetails.getDescription());
+        asset.setType(assetDetails.getType());
+        asset.setActive(assetDetails.isActive());
+        asset.setAuthors(assetDetails.getAuthors());
+        asset.setSeries(assetDetails.getSeries());
+        if (!Objects.equals(asset.getUrl(), assetDetails.getUrl())) {
+            // Recorded in this transaction, before the URLs are replaced; the outbox keeps files other assets share
+            storageDeletionService.enqueueAssetFiles(asset);
+            // The derivatives belong to the old image; they are regenerated after commit
+            asset.setThumbnailUrl(null);
+            asset.setMediumUrl(null);
+            asset.setLargeUrl(null);
         }
-        return false;
+        asset.setUrl(assetDetails.getUrl());
     }
 
     /**
@@ -121,7 +249,43 @@ public class AssetService {
      * @param serieId Optional serie ID filter
      * @return List of Asset entities matching the filter criteria
      */
+    @Transactional(readOnly = true)
     public List<Asset> filterAssets (String name, String type, Boolean active, String artistId, String serieId){
-        return assetRepository.findAll(AssetSpecifications.filterAssets(name, type, active, artistId,  serieId));
+        return fetchPlanService.withRelations(assetRepository.findAll(AssetSpecifications.filterAssets(name, type, active, artistId,  serieId)));
+    }
+
+    /**
+     * Retrieves one window of assets using keyset pagination.
+     * 
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of assets to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Asset entities with the cursor of the next window
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Asset> getAssetsPage(String after, int limit, String sort) {
+        CursorPage<Asset> page = KeysetPagination.fetch(assetRepository, null, sort, SORT_KEYS, after, limit);
+        fetchPlanService.withRelations(page.getItems());
+        return page;
+    }
+
+    /**
+     * Filters assets based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param type Optional type filter
+     * @param active Optional active status filter
+     * @param artistId Optional artist ID filter
+     * @param serieId Optional serie ID filter
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of assets to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Asset entities matching the filter criteria
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Asset> filterAssetsPage(String name, String type, Boolean active, String artistId, String serieId, String after, int limit, String sort) {
+        CursorPage<Asset> page = KeysetPagination.fetch(assetRepository, AssetSpecifications.filterAssets(name, type, active, artistId, serieId), sort, SORT_KEYS, after, limit);
+        fetchPlanService.withRelations(page.getItems());
+        return page;
     }
 }
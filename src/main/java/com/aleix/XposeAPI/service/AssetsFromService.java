@@ -1,8 +1,12 @@
 package com.aleix.XposeAPI.service;
 
 import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetSummary;
 import com.aleix.XposeAPI.repository.AssetRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,14 +18,17 @@ import java.util.List;
 public class AssetsFromService {
 
     private final AssetRepository assetRepository;
+    private final FetchPlanService fetchPlanService;
 
     /**
      * Constructor for AssetsFromService.
      * 
      * @param assetRepository Repository for Asset entity operations
+     * @param fetchPlanService Service initializing the relations serialized with assets
      */
-    public AssetsFromService(AssetRepository assetRepository) {
+    public AssetsFromService(AssetRepository assetRepository, FetchPlanService fetchPlanService) {
         this.assetRepository = assetRepository;
+        this.fetchPlanService = fetchPlanService;
     }
 
     /**
@@ -30,12 +37,33 @@ public class AssetsFromService {
      * @param id The ID of the serie to find assets for
      * @return List of Asset entities associated with the specified serie
      */
+    @Transactional(readOnly = true)
     public List<Asset> getAllAssetsFromSerie(Long id){
-        return assetRepository.findAll().stream()
-                .filter(asset -> asset.getSeries() != null &&
-                        asset.getSeries().stream()
-                                .anyMatch(serie -> serie.getId().equals(id)))
-                .toList();
+        return getAllAssetsFromSerie(id, Pageable.unpaged(Sort.by("id")));
+    }
+
+    /**
+     * Retrieves a page of the assets associated with a specific serie.
+     * The lookup goes through the asset_series join table instead of scanning every asset.
+     * 
+     * @param id The ID of the serie to find assets for
+     * @param pageable Page, size and sort to apply
+     * @return List of Asset entities associated with the specified serie
+     */
+    @Transactional(readOnly = true)
+    public List<Asset> getAllAssetsFromSerie(Long id, Pageable pageable){
+        return fetchPlanService.withRelations(assetRepository.findBySeries_Id(id, pageable));
+    }
+
+    /**
+     * Retrieves the assets of a specific serie as summaries, for grid views.
+     * 
+     * @param id The ID of the serie to find assets for
+     * @return List of AssetSummary projections associated with the specified serie
+     */
+    @Transactional(readOnly = true)
+    public List<AssetSummary> getAssetSummariesFromSerie(Long id){
+        return assetRepository.findSummariesBySerieId(id);
     }
 
     /**
@@ -44,12 +72,22 @@ public class AssetsFromService {
      * @param id The ID of the artist to find assets for
      * @return List of Asset entities associated with the specified artist
      */
+    @Transactional(readOnly = true)
     public List<Asset> getAllAssetsFromArtist(Long id){
-        return assetRepository.findAll().stream()
-                .filter(asset -> asset.getAuthors() != null &&
-                        asset.getAuthors().stream()
-                                .anyMatch(author -> author.getId().equals(id)))
-                .toList();
+        return getAllAssetsFromArtist(id, Pageable.unpaged(Sort.by("id")));
+    }
+
+    /**
+     * Retrieves a page of the assets associated with a specific artist.
+     * The lookup goes through the asset_authors join table instead of scanning every asset.
+     * 
+     * @param id The ID of the artist to find assets for
+     * @param pageable Page, size and sort to apply
+     * @return List of Asset entities associated with the specified artist
+     */
+    @Transactional(readOnly = true)
+    public List<Asset> getAllAssetsFromArtist(Long id, Pageable pageable){
+        return fetchPlanService.withRelations(assetRepository.findByAuthors_Id(id, pageable));
     }
 
 }
@@ -0,0 +1,52 @@
+package com.aleix.XposeAPI.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Checks shared by the /batch endpoints of the entity services.
+ */
+final class BatchRequests {
+
+    static final int MAX_SIZE = 1000;
+
+    private BatchRequests() {
+    }
+
+    /**
+     * Rejects a batch larger than {@link #MAX_SIZE}.
+     * 
+     * @param items The items of the batch
+     * @throws ResponseStatusException 413 if the batch is too large
+     */
+    static void checkSize(List<?> items) {
+        if (items.size() > MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + MAX_SIZE + " items per batch");
+        }
+    }
+
+    /**
+     * Collects the IDs of the entities of an update batch.
+     * 
+     * @param items The entity data of the batch
+     * @param id Getter of the entity ID
+     * @return The IDs, in batch order
+     * @throws ResponseStatusException 400 if an item has no ID, 413 if the batch is too large
+     */
+    static <T> List<Long> ids(List<T> items, Function<T, Long> id) {
+        checkSize(items);
+        List<Long> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            Long itemId = id.apply(item);
+            if (itemId == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every item of an update batch needs an id");
+            }
+            ids.add(itemId);
+        }
+        return ids;
+    }
+}
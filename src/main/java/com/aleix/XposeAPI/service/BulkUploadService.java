@@ -0,0 +1,360 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetFiles;
+import com.aleix.XposeAPI.model.BulkUploadResult;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.repository.AssetJdbcRepository;
+import com.aleix.XposeAPI.repository.StorageLockRepository;
+import com.aleix.XposeAPI.util.SizeLimitedInputStream;
+import com.aleix.XposeAPI.util.SizeLimitedInputStream.SizeLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Uploads many files at once into one serie and/or artist, from multipart parts or a ZIP archive.
+ * The serie, the artist and the bucket are checked once per request; every file is then hashed and
+ * stored on its own virtual thread, and the assets of the stored files are inserted in one JDBC batch.
+ * Each file gets its own result, so one bad file does not fail the others.
+ * ZIP archives are bounded both in size and in total uncompressed bytes, which are counted while
+ * reading since the sizes declared in an archive can be forged.
+ */
+@Service
+public class BulkUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUploadService.class);
+
+    private final FileUploadService fileUploadService;
+    private final SerieService serieService;
+    private final ArtistService artistService;
+    private final AssetJdbcRepository assetJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StorageDeletionService storageDeletionService;
+    private final StorageLockRepository storageLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFiles;
+    private final long maxEntrySizeBytes;
+    private final long maxArchiveSizeBytes;
+    private final long maxTotalSizeBytes;
+    private final int parallelUploads;
+
+    /**
+     * Constructor for BulkUploadService.
+     *
+     * @param fileUploadService Service storing the files under their content hash
+     * @param serieService Service for Serie entity operations
+     * @param artistService Service for Artist entity operations
+     * @param assetJdbcRepository Repository inserting the assets in one batch
+     * @param eventPublisher Publisher for asset change events
+     * @param storageDeletionService Service removing the files of a rejected archive
+     * @param storageLockRepository Repository locking the stored files against the deletion outbox
+     * @param transactionManager Transaction manager of the asset inserts
+     * @param maxFiles Largest number of files accepted in one request
+     * @param maxEntrySizeMb Largest uncompressed ZIP entry accepted, in MiB
+     * @param maxArchiveSizeMb Largest ZIP archive accepted, in MiB
+     * @param maxTotalSizeMb Largest sum of uncompressed ZIP entries accepted, in MiB
+     * @param parallelUploads Number of files stored at once
+     */
+    public BulkUploadService(FileUploadService fileUploadService, SerieService serieService,
+                             ArtistService artistService, AssetJdbcRepository assetJdbcRepository,
+                             ApplicationEventPublisher eventPublisher, StorageDeletionService storageDeletionService,
+                             StorageLockRepository storageLockRepository, PlatformTransactionManager transactionManager,
+                             @Value("${uploads.bulk.max-files:1000}") int maxFiles,
+                             @Value("${uploads.bulk.max-entry-size-mb:100}") long maxEntrySizeMb,
+                             @Value("${uploads.bulk.max-archive-size-mb:2048}") long maxArchiveSizeMb,
+                             @Value("${uploads.bulk.max-total-size-mb:4096}") long maxTotalSizeMb,
+                             @Value("${uploads.bulk.parallel-uploads:16}") int parallelUploads) {
+        this.fileUploadService = fileUploadService;
+        this.serieService = serieService;
+        this.artistService = artistService;
+        this.assetJdbcRepository = assetJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.storageDeletionService = storageDeletionService;
+        this.storageLockRepository = storageLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxFiles = maxFiles;
+        this.maxEntrySizeBytes = maxEntrySizeMb * 1024 * 1024;
+        this.maxArchiveSizeBytes = maxArchiveSizeMb * 1024 * 1024;
+        this.maxTotalSizeBytes = maxTotalSizeMb * 1024 * 1024;
+        this.parallelUploads = parallelUploads;
+    }
+
+    /**
+     * Uploads the files of a multipart request. Each asset is named after its file.
+     *
+     * @param files The uploaded files
+     * @param description The description shared by the assets (optional)
+     * @param type The type shared by the assets
+     * @param active Whether the assets are active
+     * @param artistId The ID of the artist of every asset (optional)
+     * @param collectionId The ID of the serie of every asset (optional)
+     * @return One result per file, in request order
+     * @throws Exception If the asset bucket cannot be reached
+     */
+    public List<BulkUploadResult> upload(List<MultipartFile> files, String description, String type, String active,
+                                         String artistId, String collectionId) throws Exception {
+        checkFileCount(files.size());
+        List<BulkFile> bulkFiles = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            bulkFiles.add(new BulkFile(file.getOriginalFilename(), file.getContentType(), file, null));
+        }
+        return store(bulkFiles, description, type, active, artistId, collectionId, null);
+    }
+
+    /**
+     * Uploads the files of a ZIP archive. Directories and hidden entries are skipped; each asset
+     * is named after its entry's file name.
+     *
+     * @param archive The ZIP archive; the stream is not closed
+     * @param description The description shared by the assets (optional)
+     * @param type The type shared by the assets
+     * @param active Whether the assets are active
+     * @param artistId The ID of the artist of every asset (optional)
+     * @param collectionId The ID of the serie of every asset (optional)
+     * @return One result per file entry, in archive order
+     * @throws ResponseStatusException 413 if the archive or the sum of its uncompressed entries is too large
+     * @throws Exception If the archive cannot be read or the asset bucket cannot be reached
+     */
+    public List<BulkUploadResult> uploadZip(InputStream archive, String description, String type, String active,
+                                            String artistId, String collectionId) throws Exception {
+        // A ZipFile reads entries at random and from several threads, which a ZipInputStream cannot
+        Path archiveFile = Files.createTempFile("bulk-upload-", ".zip");
+        try {
+            try {
+                Files.copy(new SizeLimitedInputStream(archive, maxArchiveSizeBytes, null), archiveFile,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (SizeLimitExceededException e) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Archive exceeds the maximum size");
+            }
+            try (ZipFile zipFile = new ZipFile(archiveFile.toFile())) {
+                List<BulkFile> bulkFiles = new ArrayList<>();
+                // Shared by every entry; each entry is charged once although it may be read twice
+                AtomicLong totalRemaining = new AtomicLong(maxTotalSizeBytes);
+                long declaredTotal = 0;
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String filename = fileNameOf(entry.getName());
+                    if (entry.isDirectory() || filename.isEmpty() || filename.startsWith(".")
+                            || entry.getName().startsWith("__MACOSX/")) {
+                        continue;
+                    }
+                    String contentType = MediaTypeFactory.getMediaType(filename)
+                            .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+                    String error = entry.getSize() > maxEntrySizeBytes ? "Entry exceeds the maximum size" : null;
+                    declaredTotal += error == null ? Math.max(0, entry.getSize()) : 0;
+                    AtomicBoolean charged = new AtomicBoolean();
+                    bulkFiles.add(new BulkFile(entry.getName(), contentType, () -> new SizeLimitedInputStream(
+                            zipFile.getInputStream(entry), maxEntrySizeBytes,
+                            charged.getAndSet(true) ? null : totalRemaining), error));
+                }
+                checkFileCount(bulkFiles.size());
+                if (declaredTotal > maxTotalSizeBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Archive contents exceed the maximum total size");
+                }
+                return store(bulkFiles, description, type, active, artistId, collectionId, totalRemaining);
+            }
+        } catch (ZipException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not a valid ZIP archive");
+        } finally {
+            Files.deleteIfExists(archiveFile);
+        }
+    }
+
+    private void checkFileCount(int count) {
+        if (count == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No files to upload");
+        }
+        if (count > maxFiles) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxFiles + " files per request");
+        }
+    }
+
+    /**
+     * Stores the files and inserts their assets.
+     *
+     * @param totalRemaining Uncompressed bytes left to the whole archive, or null when not reading one
+     */
+    private List<BulkUploadResult> store(List<BulkFile> files, String description, String type, String active,
+                                         String artistId, String collectionId, AtomicLong totalRemaining) throws Exception {
+        Long serieId = resolveSerie(collectionId);
+        Long artistIdValue = resolveArtist(artistId);
+        boolean isActive = Boolean.parseBoolean(active);
+
+        fileUploadService.ensureAssetBucket();
+
+        List<Future<String>> objectNames = new ArrayList<>(files.size());
+        Semaphore permits = new Semaphore(parallelUploads);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (BulkFile file : files) {
+                if (file.error() != null) {
+                    objectNames.add(null);
+                    continue;
+                }
+                objectNames.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fileUploadService.storeAssetFile(file.content(), file.filename(), file.contentType());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        BulkUploadResult[] results = new BulkUploadResult[files.size()];
+        List<Asset> assets = new ArrayList<>();
+        List<Integer> assetPositions = new ArrayList<>();
+        List<String> assetObjectNames = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            BulkFile file = files.get(i);
+            if (file.error() != null) {
+                results[i] = BulkUploadResult.failed(file.filename(), file.error());
+                continue;
+            }
+            try {
+                String objectName = objectNames.get(i).get();
+                Asset asset = new Asset();
+                asset.setName(assetNameOf(file.filename()));
+                asset.setDescription(description);
+                asset.setType(type);
+                asset.setActive(isActive);
+                asset.setUrl(fileUploadService.assetUrl(objectName));
+                assets.add(asset);
+                assetPositions.add(i);
+                assetObjectNames.add(objectName);
+            } catch (ExecutionException e) {
+                log.warn("Bulk upload of {} failed", file.filename(), e.getCause());
+                results[i] = BulkUploadResult.failed(file.filename(), "Upload failed: " + e.getCause().getMessage());
+            }
+        }
+
+        if (totalRemaining != null && totalRemaining.get() < 0) {
+            // The declared sizes were forged; nothing is kept from the archive
+            discardFiles(assets);
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Archive contents exceed the maximum total size");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Deduplicated objects may be due for deletion; the locks keep the outbox out until the assets commit
+            storageLockRepository.lock(assets.stream().map(Asset::getUrl).toList());
+            ensureStored(files, assetPositions, assetObjectNames);
+            assetJdbcRepository.insertAll(assets, serieId, artistIdValue);
+            for (Asset asset : assets) {
+                eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, asset.getId(), EntityChangedEvent.ChangeType.CREATED));
+            }
+        });
+
+        for (int i = 0; i < assets.size(); i++) {
+            Asset asset = assets.get(i);
+            int position = assetPositions.get(i);
+            results[position] = new BulkUploadResult(files.get(position).filename(), asset.getId(), asset.getUrl(), null);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Stores again, in parallel, the files the deletion outbox removed before their locks were taken.
+     */
+    private void ensureStored(List<BulkFile> files, List<Integer> positions, List<String> objectNames) {
+        List<Future<?>> checks = new ArrayList<>(positions.size());
+        Semaphore permits = new Semaphore(parallelUploads);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < positions.size(); i++) {
+                BulkFile file = files.get(positions.get(i));
+                String objectName = objectNames.get(i);
+                checks.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        fileUploadService.ensureAssetFile(objectName, file.content(), file.contentType());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (Future<?> check : checks) {
+            try {
+                check.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while checking the stored files", e);
+            }
+        }
+    }
+
+    private void discardFiles(List<Asset> assets) {
+        // The outbox rechecks references, so a file another asset shares is kept
+        List<AssetFiles> files = assets.stream()
+                .map(asset -> new AssetFiles(null, asset.getUrl(), null, null, null))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> storageDeletionService.enqueueAssetFiles(files, Instant.now()));
+    }
+
+    private Long resolveSerie(String collectionId) {
+        if (collectionId == null || collectionId.isBlank()) {
+            return null;
+        }
+        return serieService.getSerieById(Long.parseLong(collectionId)).map(Serie::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Serie not found"));
+    }
+
+    private Long resolveArtist(String artistId) {
+        if (artistId == null || artistId.isBlank()) {
+            return null;
+        }
+        return artistService.getArtistById(Long.parseLong(artistId)).map(Artist::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Artist not found"));
+    }
+
+    private static String fileNameOf(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String assetNameOf(String filename) {
+        String name = fileNameOf(filename == null ? "" : filename);
+        int dot = name.lastIndexOf('.');
+        name = dot > 0 ? name.substring(0, dot) : name;
+        return name.isBlank() ? "Untitled" : name;
+    }
+
+    /**
+     * One file of a bulk upload. The content is opened twice, so it must be re-readable.
+     */
+    private record BulkFile(String filename, String contentType, InputStreamSource content, String error) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetFiles;
+import com.aleix.XposeAPI.model.JobStatus;
+import com.aleix.XposeAPI.model.StorageDeletion;
+import com.aleix.XposeAPI.repository.ArtistRepository;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Deletes a serie or an artist together with the assets that belong to it alone, and their stored files.
+ * The rows go in one transaction: the affected assets are found with a single query and deleted in
+ * bulk, and their files are recorded in the deletion outbox. Once committed, the files are removed
+ * with multi-object deletes in parallel chunks, and progress is reported through GET /jobs/{id}.
+ * Assets shared with another serie or artist are kept and only unlinked.
+ */
+@Service
+public class CascadeDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeletionService.class);
+
+    private static final String SERIE_JOB_TYPE = "serie-cascade-delete";
+    private static final String ARTIST_JOB_TYPE = "artist-cascade-delete";
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final SerieRepository serieRepository;
+    private final ArtistRepository artistRepository;
+    private final AssetRepository assetRepository;
+    private final SerieService serieService;
+    private final ArtistService artistService;
+    private final StorageDeletionService storageDeletionService;
+    private final JobRegistry jobRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long outboxGraceMillis;
+
+    /**
+     * Constructor for CascadeDeletionService.
+     *
+     * @param serieRepository Repository for Serie entity operations
+     * @param artistRepository Repository for Artist entity operations
+     * @param assetRepository Repository for Asset entity operations
+     * @param serieService Service deleting the serie itself
+     * @param artistService Service deleting the artist itself
+     * @param storageDeletionService Service recording and removing the stored files
+     * @param jobRegistry Registry the cascade jobs report their progress to
+     * @param eventPublisher Publisher for asset change events
+     * @param transactionManager Transaction manager of the row deletion
+     * @param outboxGraceMillis Delay before the outbox worker takes over files the job did not remove
+     */
+    public CascadeDeletionService(SerieRepository serieRepository, ArtistRepository artistRepository,
+                                  AssetRepository assetRepository, SerieService serieService, ArtistService artistService,
+                                  StorageDeletionService storageDeletionService, JobRegistry jobRegistry,
+                                  ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                  @Value("${storage.cascade.outbox-grace-ms:600000}") long outboxGraceMillis) {
+        this.serieRepository = serieRepository;
+        this.artistRepository = artistRepository;
+        this.assetRepository = assetRepository;
+        this.serieService = serieService;
+        this.artistService = artistService;
+        this.storageDeletionService = storageDeletionService;
+        this.jobRegistry = jobRegistry;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxGraceMillis = outboxGraceMillis;
+    }
+
+    /**
+     * Starts deleting a serie with its exclusive assets and their files.
+     *
+     * @param serieId The ID of the serie to delete
+     * @return Optional containing the status of the started job, empty if the serie wasn't found
+     */
+    public Optional<JobStatus> deleteSerie(Long serieId) {
+        if (!serieRepository.existsById(serieId)) {
+            return Optional.empty();
+        }
+        return Optional.of(start(SERIE_JOB_TYPE, "cascade-delete-serie-" + serieId, () -> removeSerieRows(serieId)));
+    }
+
+    /**
+     * Starts deleting an artist with the assets they authored alone and their files.
+     *
+     * @param artistId The ID of the artist to delete
+     * @return Optional containing the status of the started job, empty if the artist wasn't found
+     */
+    public Optional<JobStatus> deleteArtist(Long artistId) {
+        if (!artistRepository.existsById(artistId)) {
+            return Optional.empty();
+        }
+        return Optional.of(start(ARTIST_JOB_TYPE, "cascade-delete-artist-" + artistId, () -> removeArtistRows(artistId)));
+    }
+
+    private JobStatus start(String type, String threadName, Supplier<List<StorageDeletion>> rowRemoval) {
+        JobRegistry.Job job = jobRegistry.start(type);
+        Thread.ofVirtual().name(threadName).start(() -> run(job, rowRemoval));
+        return job.status();
+    }
+
+    private void run(JobRegistry.Job job, Supplier<List<StorageDeletion>> rowRemoval) {
+        try {
+            List<StorageDeletion> deletions = transactionTemplate.execute(status -> rowRemoval.get());
+            job.addTotal(deletions.size());
+            storageDeletionService.removeNow(deletions, job);
+            job.complete();
+        } catch (RuntimeException e) {
+            // Rolled back rows leave nothing behind; committed files left over are removed by the outbox worker
+            log.warn("Cascading delete {} failed", job.id(), e);
+            job.fail(e);
+        }
+    }
+
+    private List<StorageDeletion> removeSerieRows(Long serieId) {
+        List<StorageDeletion> deletions = removeAssets(assetRepository.findFilesExclusiveToSerie(serieId));
+        assetRepository.unlinkSerie(serieId);
+        serieService.deleteSerie(serieId);
+        return deletions;
+    }
+
+    private List<StorageDeletion> removeArtistRows(Long artistId) {
+        List<StorageDeletion> deletions = removeAssets(assetRepository.findFilesExclusiveToArtist(artistId));
+        assetRepository.unlinkArtist(artistId);
+        serieRepository.unlinkArtist(artistId);
+        artistService.deleteArtist(artistId);
+        return deletions;
+    }
+
+    private List<StorageDeletion> removeAssets(List<AssetFiles> assets) {
+        List<StorageDeletion> deletions = storageDeletionService.enqueueAssetFiles(assets,
+                Instant.now().plusMillis(outboxGraceMillis));
+        List<Long> ids = assets.stream().map(AssetFiles::id).toList();
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            assetRepository.deleteByIdIn(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE)));
+        }
+        for (Long id : ids) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, id, EntityChangedEvent.ChangeType.DELETED));
+        }
+        return deletions;
+    }
+}
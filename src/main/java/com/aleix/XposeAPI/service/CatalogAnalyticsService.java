@@ -0,0 +1,255 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.DashboardBreakdown;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory rollups of the catalog for the dashboard breakdowns.
+ * Every asset and user keeps a snapshot of what it contributes to each dimension; a change
+ * subtracts the old snapshot and adds the new one, so no GROUP BY runs on the read path.
+ * The store is rebuilt from the database on first use and on the dashboard reconciliation interval.
+ */
+@Service
+public class CatalogAnalyticsService {
+
+    private static final String UNKNOWN_TYPE = "unknown";
+
+    private record AssetContribution(boolean active, String type, Set<Long> artistIds, Set<Long> serieIds) {
+    }
+
+    private final AssetRepository assetRepository;
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, AssetContribution> assetContributions = new HashMap<>();
+    private final Map<Long, LocalDate> userWeeks = new HashMap<>();
+    private final Map<Long, Long> assetsPerArtist = new HashMap<>();
+    private final Map<Long, Long> assetsPerSerie = new HashMap<>();
+    private final Map<String, Long> assetsByType = new HashMap<>();
+    private final Map<LocalDate, Long> usersPerWeek = new TreeMap<>();
+    private long activeAssets;
+    private long inactiveAssets;
+
+    private volatile boolean seeded;
+
+    /**
+     * Constructor for CatalogAnalyticsService.
+     * 
+     * @param assetRepository Repository for Asset entity operations
+     * @param userRepository Repository for User entity operations
+     */
+    public CatalogAnalyticsService(AssetRepository assetRepository, UserRepository userRepository) {
+        this.assetRepository = assetRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns a copy of every breakdown.
+     * 
+     * @return Current breakdowns
+     */
+    public DashboardBreakdown getBreakdown() {
+        if (!seeded) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            return new DashboardBreakdown(
+                    new TreeMap<>(assetsPerArtist),
+                    new TreeMap<>(assetsPerSerie),
+                    activeAssets,
+                    inactiveAssets,
+                    new TreeMap<>(assetsByType),
+                    new TreeMap<>(usersPerWeek));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change to the rollups.
+     * 
+     * @param event The change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!seeded) {
+            return;
+        }
+        Class<?> type = event.getEntityType();
+        Long id = event.getEntityId();
+        boolean deleted = event.getChangeType() == EntityChangedEvent.ChangeType.DELETED;
+
+        if (type == Asset.class) {
+            AssetContribution current = deleted ? null : loadAssetContribution(id);
+            lock.writeLock().lock();
+            try {
+                replaceAssetContribution(id, current);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else if (type == User.class && event.getChangeType() != EntityChangedEvent.ChangeType.UPDATED) {
+            LocalDate week = deleted ? null : userRepository.findById(id).map(user -> weekOf(user.getCreatedAt())).orElse(null);
+            lock.writeLock().lock();
+            try {
+                replaceUserWeek(id, week);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else if ((type == Artist.class || type == Serie.class) && deleted) {
+            lock.writeLock().lock();
+            try {
+                forgetLinkTarget(type == Artist.class, id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds every rollup from the database, correcting drift from missed or racing events.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.reconcile-interval-ms:300000}")
+    public synchronized void rebuild() {
+        Map<Long, AssetContribution> contributions = new HashMap<>();
+        for (Object[] row : assetRepository.findAnalyticsRows()) {
+            contributions.put((Long) row[0], new AssetContribution((Boolean) row[1], typeKey((String) row[2]),
+                    new HashSet<>(), new HashSet<>()));
+        }
+        for (Object[] row : assetRepository.findAuthorLinks()) {
+            AssetContribution contribution = contributions.get((Long) row[0]);
+            if (contribution != null) {
+                contribution.artistIds().add((Long) row[1]);
+            }
+        }
+        for (Object[] row : assetRepository.findSerieLinks()) {
+            AssetContribution contribution = contributions.get((Long) row[0]);
+            if (contribution != null) {
+                contribution.serieIds().add((Long) row[1]);
+            }
+        }
+        Map<Long, LocalDate> weeks = new HashMap<>();
+        for (Object[] row : userRepository.findCreationDates()) {
+            weeks.put((Long) row[0], weekOf((Instant) row[1]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            assetContributions.clear();
+            userWeeks.clear();
+            assetsPerArtist.clear();
+            assetsPerSerie.clear();
+            assetsByType.clear();
+            usersPerWeek.clear();
+            activeAssets = 0;
+            inactiveAssets = 0;
+            contributions.forEach(this::replaceAssetContribution);
+            weeks.forEach(this::replaceUserWeek);
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private AssetContribution loadAssetContribution(Long id) {
+        List<Asset> withAuthors = assetRepository.fetchAuthorsByIdIn(List.of(id));
+        if (withAuthors.isEmpty()) {
+            return null;
+        }
+        Asset asset = withAuthors.getFirst();
+        Set<Long> artistIds = new HashSet<>();
+        asset.getAuthors().forEach(artist -> artistIds.add(artist.getId()));
+        Set<Long> serieIds = new HashSet<>();
+        assetRepository.fetchSeriesByIdIn(List.of(id))
+                .forEach(withSeries -> withSeries.getSeries().forEach(serie -> serieIds.add(serie.getId())));
+        return new AssetContribution(asset.isActive(), typeKey(asset.getType()), artistIds, serieIds);
+    }
+
+    /**
+     * Subtracts the previous contribution of an asset and adds the new one. Caller holds the write lock.
+     */
+    private void replaceAssetContribution(Long id, AssetContribution current) {
+        AssetContribution previous = current == null ? assetContributions.remove(id) : assetContributions.put(id, current);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (current != null) {
+            apply(current, 1);
+        }
+    }
+
+    private void apply(AssetContribution contribution, long delta) {
+        if (contribution.active()) {
+            activeAssets += delta;
+        } else {
+            inactiveAssets += delta;
+        }
+        add(assetsByType, contribution.type(), delta);
+        contribution.artistIds().forEach(artistId -> add(assetsPerArtist, artistId, delta));
+        contribution.serieIds().forEach(serieId -> add(assetsPerSerie, serieId, delta));
+    }
+
+    /**
+     * Moves a user from its previous week bucket to the new one. Caller holds the write lock.
+     */
+    private void replaceUserWeek(Long id, LocalDate week) {
+        LocalDate previous = week == null ? userWeeks.remove(id) : userWeeks.put(id, week);
+        if (previous != null) {
+            add(usersPerWeek, previous, -1);
+        }
+        if (week != null) {
+            add(usersPerWeek, week, 1);
+        }
+    }
+
+    /**
+     * Drops a deleted artist or serie from every asset contribution and from its bucket. Caller holds the write lock.
+     */
+    private void forgetLinkTarget(boolean artist, Long id) {
+        for (AssetContribution contribution : assetContributions.values()) {
+            (artist ? contribution.artistIds() : contribution.serieIds()).remove(id);
+        }
+        (artist ? assetsPerArtist : assetsPerSerie).remove(id);
+    }
+
+    private static <K> void add(Map<K, Long> counts, K key, long delta) {
+        // Drop empty buckets so the breakdowns only list existing values
+        counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private static String typeKey(String type) {
+        return type == null || type.isBlank() ? UNKNOWN_TYPE : type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static LocalDate weekOf(Instant instant) {
+        if (instant == null) {
+            return null;
+        }
+        return instant.atZone(ZoneOffset.UTC).toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
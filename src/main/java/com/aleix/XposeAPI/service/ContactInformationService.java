@@ -1,7 +1,9 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
 import com.aleix.XposeAPI.model.ContactInformation;
 import com.aleix.XposeAPI.repository.ContactInformationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -11,9 +13,12 @@ import java.util.Optional;
 public class ContactInformationService {
 
     private final ContactInformationRepository contactInformationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ContactInformationService(ContactInformationRepository contactInformationRepository) {
+    public ContactInformationService(ContactInformationRepository contactInformationRepository,
+                                     ApplicationEventPublisher eventPublisher) {
         this.contactInformationRepository = contactInformationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -44,7 +49,9 @@ public class ContactInformationService {
      * @return the saved {@link ContactInformation} object
      */
     public ContactInformation createContactInformation(ContactInformation contactInformation) {
-        return contactInformationRepository.save(contactInformation);
+        ContactInformation savedContactInformation = contactInformationRepository.save(contactInformation);
+        eventPublisher.publishEvent(new EntityChangedEvent(ContactInformation.class, savedContactInformation.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedContactInformation;
     }
 
     /**
@@ -60,7 +67,9 @@ public class ContactInformationService {
             contactInformation.setEmail(contactInformationDetails.getEmail());
             contactInformation.setPhoneNumber(contactInformationDetails.getPhoneNumber());
             contactInformation.setAddress(contactInformationDetails.getAddress());
-            return contactInformationRepository.save(contactInformation);
+            ContactInformation savedContactInformation = contactInformationRepository.save(contactInformation);
+            eventPublisher.publishEvent(new EntityChangedEvent(ContactInformation.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedContactInformation;
         });
     }
 
@@ -73,6 +82,7 @@ public class ContactInformationService {
     public boolean deleteContactInformation(Long id) {
         if (contactInformationRepository.existsById(id)) {
             contactInformationRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(ContactInformation.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
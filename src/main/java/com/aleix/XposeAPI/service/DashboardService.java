@@ -1,22 +1,52 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.model.User;
 import com.aleix.XposeAPI.repository.AssetRepository;
 import com.aleix.XposeAPI.repository.ArtistRepository;
 import com.aleix.XposeAPI.repository.SerieRepository;
 import com.aleix.XposeAPI.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Serves the dashboard totals from in-memory counters instead of counting the tables on every load.
+ * The counters are seeded from the database on first use, adjusted by the create and delete events
+ * of the services, and periodically reconciled with the database to correct any drift.
+ */
 @Service
 public class DashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
     private final UserRepository userRepository;
     private final ArtistRepository artistRepository;
     private final SerieRepository serieRepository;
     private final AssetRepository assetRepository;
 
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalArtists = new AtomicLong();
+    private final AtomicLong totalSeries = new AtomicLong();
+    private final AtomicLong totalAssets = new AtomicLong();
+    private final Map<Class<?>, AtomicLong> countersByType = Map.of(
+            User.class, totalUsers,
+            Artist.class, totalArtists,
+            Serie.class, totalSeries,
+            Asset.class, totalAssets);
+
+    private volatile boolean seeded;
+
     /**
      * Constructs a new {@code DashboardService} with the given repositories.
      *
@@ -37,17 +67,55 @@ public class DashboardService {
 
     /**
      * Retrieves dashboard statistics including total counts of users, artists, series, and assets.
+     * Answered from memory; the database is only queried if the counters have not been seeded yet.
      *
      * @return a list of integers representing counts in the following order:
      *         total users, total artists, total series, total assets
      */
     public List<Integer> getDashboardStats() {
-        int totalUsers = (int) userRepository.count();
-        int totalArtists = (int) artistRepository.count();
-        int totalSeries = (int) serieRepository.count();
-        int totalAssets = (int) assetRepository.count();
+        if (!seeded) {
+            reconcile();
+        }
+        return Arrays.asList((int) totalUsers.get(), (int) totalArtists.get(),
+                (int) totalSeries.get(), (int) totalAssets.get());
+    }
+
+    /**
+     * Adjusts the matching counter after a committed create or delete.
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        AtomicLong counter = countersByType.get(event.getEntityType());
+        if (counter == null || !seeded) {
+            // Before seeding, the first reconciliation already counts the change
+            return;
+        }
+        switch (event.getChangeType()) {
+            case CREATED -> counter.incrementAndGet();
+            case DELETED -> counter.updateAndGet(count -> Math.max(0, count - 1));
+            default -> { }
+        }
+    }
 
-        return Arrays.asList(totalUsers, totalArtists, totalSeries, totalAssets);
+    /**
+     * Recounts every table and overwrites the counters, correcting drift from missed or racing events.
+     * Runs at startup and then on the configured interval.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        reset(totalUsers, userRepository.count(), "users");
+        reset(totalArtists, artistRepository.count(), "artists");
+        reset(totalSeries, serieRepository.count(), "series");
+        reset(totalAssets, assetRepository.count(), "assets");
+        seeded = true;
     }
 
+    private void reset(AtomicLong counter, long actual, String name) {
+        long previous = counter.getAndSet(actual);
+        if (seeded && previous != actual) {
+            log.info("Dashboard counter for {} drifted from {} to {}", name, previous, actual);
+        }
+    }
 }
@@ -0,0 +1,224 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.PresignedUpload;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import com.aleix.XposeAPI.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Two-step uploads that keep file bytes off the API: the client receives a presigned PUT URL
+ * for a generated object name, uploads straight to object storage, and then finalizes the upload,
+ * which checks the stored object and creates its Asset. Upload tokens are HMAC-signed, so no
+ * state is kept between the two steps and any instance can finalize.
+ * Clients upload to a staging name; finalize moves the object to its final name, which the
+ * presigned URL cannot write, and staged objects that are never finalized are swept once stale.
+ */
+@Service
+public class DirectUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectUploadService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // Domain separation from the JWTs signed with the same secret
+    private static final String TOKEN_CONTEXT = "direct-upload|";
+    private static final Pattern UNSAFE_FILENAME_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+    private static final int MAX_FILENAME_LENGTH = 100;
+    // Finalize may come a while after the last byte, so it is accepted past the URL expiry
+    private static final Duration FINALIZE_GRACE = Duration.ofHours(1);
+    // The presigned URL still accepts PUTs after finalize, so only this staging name is ever exposed to it
+    static final String STAGING_PREFIX = "direct-";
+
+    private final ObjectStorage objectStorage;
+    private final FileUploadService fileUploadService;
+    private final AssetRepository assetRepository;
+    private final SecretKeySpec signingKey;
+    private final String bucketName;
+    private final Duration urlExpiry;
+    private final long maxSizeBytes;
+
+    /**
+     * Constructor for DirectUploadService.
+     * 
+     * @param objectStorage Storage backend receiving the uploads
+     * @param fileUploadService Service creating the assets of uploaded files
+     * @param assetRepository Repository for Asset entity operations
+     * @param secret Base64-encoded HMAC key signing the upload tokens
+     * @param bucketName Bucket holding the assets
+     * @param urlExpiryMinutes How long a presigned URL accepts the upload
+     * @param maxSizeMb Largest file accepted at finalize, in MiB
+     */
+    public DirectUploadService(ObjectStorage objectStorage, FileUploadService fileUploadService,
+                               AssetRepository assetRepository,
+                               @Value("${jwt.secret}") String secret,
+                               @Value("${minio.bucket}") String bucketName,
+                               @Value("${uploads.direct.url-expiry-minutes:15}") long urlExpiryMinutes,
+                               @Value("${uploads.direct.max-size-mb:500}") long maxSizeMb) {
+        this.objectStorage = objectStorage;
+        this.fileUploadService = fileUploadService;
+        this.assetRepository = assetRepository;
+        this.signingKey = new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC_ALGORITHM);
+        this.bucketName = bucketName;
+        this.urlExpiry = Duration.ofMinutes(urlExpiryMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Issues a presigned PUT URL for a new object in the asset bucket.
+     * 
+     * @param filename The client file name, kept as the object name suffix
+     * @return Upload URL, object name and the token needed to finalize
+     * @throws ResponseStatusException 501 if the storage backend does not support direct uploads
+     * @throws Exception If the bucket cannot be created or the URL cannot be signed
+     */
+    public PresignedUpload presign(String filename) throws Exception {
+        objectStorage.ensureBucket(bucketName);
+        String objectName = STAGING_PREFIX + UUID.randomUUID() + "-" + sanitize(filename);
+        Instant expiresAt = Instant.now().plus(urlExpiry);
+        String uploadUrl = objectStorage.presignedPutUrl(bucketName, objectName, urlExpiry)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                        "The configured storage backend does not support direct uploads"));
+        return new PresignedUpload(objectName, uploadUrl, token(objectName, expiresAt), expiresAt);
+    }
+
+    /**
+     * Creates the Asset of a file uploaded with a presigned URL. The object is moved out of the
+     * staging name first, so the still valid URL cannot replace it, and its size is checked once
+     * moved. Oversized objects are deleted.
+     * 
+     * @param objectName The object name returned by {@link #presign(String)}
+     * @param uploadToken The upload token returned by {@link #presign(String)}
+     * @param name The name for the asset
+     * @param description The description for the asset
+     * @param type The type of the asset
+     * @param active Whether the asset is active
+     * @param artistId The ID of the associated artist (optional)
+     * @param collectionId The ID of the associated collection/serie (optional)
+     * @return The URL of the uploaded file
+     * @throws ResponseStatusException 403 on an invalid or expired token, 404 if nothing was uploaded,
+     *         409 if the upload was already finalized, 413 if the file is too large
+     * @throws Exception If the object cannot be checked or deleted
+     */
+    public String finalizeUpload(String objectName, String uploadToken, String name, String description,
+                                 String type, String active, String artistId, String collectionId) throws Exception {
+        verify(objectName, uploadToken);
+        if (!objectName.startsWith(STAGING_PREFIX)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid upload token");
+        }
+        String finalName = objectName.substring(STAGING_PREFIX.length());
+        if (assetRepository.existsByUrl(fileUploadService.assetUrl(finalName))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload already finalized");
+        }
+        StoredObject staged = objectStorage.stat(bucketName, objectName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nothing was uploaded to " + objectName));
+        checkSize(staged, objectName);
+
+        objectStorage.move(bucketName, objectName, finalName);
+        // The staged object could still be replaced until the move, so the size is checked again
+        StoredObject stored = objectStorage.stat(bucketName, finalName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nothing was uploaded to " + objectName));
+        checkSize(stored, finalName);
+        try {
+            return fileUploadService.createAssetForObject(finalName, name, description, type, active, artistId, collectionId);
+        } catch (RuntimeException e) {
+            objectStorage.delete(bucketName, finalName);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the staged direct uploads that can no longer be finalized: those written before
+     * the URL expiry plus the finalize grace period. This covers uploads never finalized and
+     * objects put again through a URL that was already finalized.
+     */
+    @Scheduled(initialDelayString = "${uploads.direct.sweep-interval-ms:600000}",
+            fixedDelayString = "${uploads.direct.sweep-interval-ms:600000}")
+    public void sweepAbandonedUploads() {
+        try {
+            Instant cutoff = Instant.now().minus(urlExpiry).minus(FINALIZE_GRACE);
+            List<String> stale = objectStorage.listModifiedBefore(bucketName, STAGING_PREFIX, cutoff);
+            if (stale.isEmpty()) {
+                return;
+            }
+            Map<String, String> failures = objectStorage.deleteAll(bucketName, stale);
+            log.info("Swept {} abandoned direct uploads", stale.size() - failures.size());
+            if (!failures.isEmpty()) {
+                log.warn("Could not sweep {} abandoned direct uploads, retrying on the next run", failures.size());
+            }
+        } catch (Exception e) {
+            log.warn("Sweep of abandoned direct uploads failed", e);
+        }
+    }
+
+    private void checkSize(StoredObject stored, String objectName) throws Exception {
+        if (stored.size() > maxSizeBytes) {
+            objectStorage.delete(bucketName, objectName);
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Uploaded file exceeds " + maxSizeBytes / (1024 * 1024) + " MiB and was discarded");
+        }
+    }
+
+    private static String sanitize(String filename) {
+        String name = filename == null || filename.isBlank() ? "file" : filename;
+        // Keep the last path segment only; browsers may send a full path
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        name = UNSAFE_FILENAME_CHARS.matcher(name).replaceAll("_");
+        return name.length() > MAX_FILENAME_LENGTH ? name.substring(name.length() - MAX_FILENAME_LENGTH) : name;
+    }
+
+    private String token(String objectName, Instant expiresAt) {
+        long expiresAtSeconds = expiresAt.getEpochSecond();
+        return expiresAtSeconds + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(objectName, expiresAtSeconds));
+    }
+
+    private void verify(String objectName, String uploadToken) {
+        Optional<Long> expiresAtSeconds = Optional.empty();
+        byte[] signature = null;
+        int separator = uploadToken == null ? -1 : uploadToken.indexOf('.');
+        if (separator > 0) {
+            try {
+                expiresAtSeconds = Optional.of(Long.parseLong(uploadToken.substring(0, separator)));
+                signature = Base64.getUrlDecoder().decode(uploadToken.substring(separator + 1));
+            } catch (IllegalArgumentException e) {
+                expiresAtSeconds = Optional.empty();
+            }
+        }
+        if (objectName == null || expiresAtSeconds.isEmpty()
+                || !MessageDigest.isEqual(signature, sign(objectName, expiresAtSeconds.get()))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid upload token");
+        }
+        if (Instant.ofEpochSecond(expiresAtSeconds.get()).plus(FINALIZE_GRACE).isBefore(Instant.now())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Upload token expired");
+        }
+    }
+
+    private byte[] sign(String objectName, long expiresAtSeconds) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal((TOKEN_CONTEXT + objectName + "|" + expiresAtSeconds).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.SerieRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Initializes the lazy relations that the read endpoints serialize, using a fixed number of
+ * queries regardless of how many entities are returned. Each relation is fetched in its own
+ * entity-graph query because Hibernate cannot join-fetch several bags at once.
+ * Must be called inside the transaction that loaded the entities.
+ */
+@Service
+public class FetchPlanService {
+
+    private final AssetRepository assetRepository;
+    private final SerieRepository serieRepository;
+
+    /**
+     * Constructor for FetchPlanService.
+     * 
+     * @param assetRepository Repository for Asset entity operations
+     * @param serieRepository Repository for Serie entity operations
+     */
+    public FetchPlanService(AssetRepository assetRepository, SerieRepository serieRepository) {
+        this.assetRepository = assetRepository;
+        this.serieRepository = serieRepository;
+    }
+
+    /**
+     * Initializes authors, series and the artists of those series for the given assets (three queries).
+     * 
+     * @param assets Managed assets to initialize
+     * @return The same list, for chaining
+     */
+    public List<Asset> withRelations(List<Asset> assets) {
+        if (assets.isEmpty()) {
+            return assets;
+        }
+        List<Long> ids = assets.stream().map(Asset::getId).distinct().toList();
+        assetRepository.fetchAuthorsByIdIn(ids);
+        assetRepository.fetchSeriesByIdIn(ids);
+        withArtists(assets.stream()
+                .map(Asset::getSeries)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .toList());
+        return assets;
+    }
+
+    /**
+     * Initializes the relations of a single asset.
+     * 
+     * @param asset Managed asset to initialize
+     * @return The same asset, for chaining
+     */
+    public Asset withRelations(Asset asset) {
+        withRelations(List.of(asset));
+        return asset;
+    }
+
+    /**
+     * Initializes the artists of the given series (one query).
+     * 
+     * @param series Managed series to initialize
+     * @return The same list, for chaining
+     */
+    public List<Serie> withArtists(List<Serie> series) {
+        if (!series.isEmpty()) {
+            serieRepository.fetchArtistsByIdIn(series.stream().map(Serie::getId).distinct().toList());
+        }
+        return series;
+    }
+
+    /**
+     * Initializes the artists of a single serie.
+     * 
+     * @param serie Managed serie to initialize
+     * @return The same serie, for chaining
+     */
+    public Serie withArtists(Serie serie) {
+        withArtists(List.of(serie));
+        return serie;
+    }
+}
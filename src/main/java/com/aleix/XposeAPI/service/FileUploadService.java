@@ -1,27 +1,54 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
 import com.aleix.XposeAPI.repository.AssetRepository;
-import io.minio.*;
-import io.minio.RemoveObjectArgs;
+import com.aleix.XposeAPI.repository.StorageLockRepository;
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import com.aleix.XposeAPI.util.SizeLimitedInputStream;
+import com.aleix.XposeAPI.util.SizeLimitedInputStream.SizeLimitExceededException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.aleix.XposeAPI.model.Artist;
 import com.aleix.XposeAPI.model.Asset;
 import com.aleix.XposeAPI.model.Serie;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
 
 /**
- * Service class for handling file uploads to MinIO object storage.
- * Provides methods for uploading, retrieving, and deleting files from MinIO buckets,
+ * Service class for handling file uploads to the configured object storage backend.
+ * Provides methods for uploading, retrieving, and deleting files from storage buckets,
  * as well as creating associated Asset entities with metadata.
+ * Uploaded files are content-addressed: each is stored under the SHA-256 of its bytes,
+ * so identical files share one object and re-uploading a known file stores nothing.
+ * A reused object may be due for deletion in the outbox, so each asset is inserted while holding
+ * the lock of its file, which the outbox takes too, after checking the object still exists.
  */
 @Service
 public class FileUploadService {
 
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+    private static final String INCOMING_PREFIX = "incoming-";
+
     @Value("${minio.bucket}")
     private String bucketName;
 
@@ -37,27 +64,55 @@ public class FileUploadService {
     @Value("${minio.minioUrlForDb}")
     private String minioUrlForDb;
 
-    private final MinioClient minioClient;
+    private final ObjectStorage objectStorage;
     private final SerieService serieService;
     private final ArtistService artistService;
     private final AssetRepository assetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StorageLockRepository storageLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxStreamSizeBytes;
+    private final Semaphore streamSlots;
+
+    /**
+     * Stores a missing object again under the given name.
+     */
+    @FunctionalInterface
+    private interface ObjectRestore {
+        void restore(String objectName) throws Exception;
+    }
 
     /**
      * Constructor for FileUploadService.
      * 
-     * @param minioClient Client for MinIO operations
+     * @param objectStorage Storage backend holding the uploaded files
      * @param serieService Service for Serie entity operations
      * @param artistService Service for Artist entity operations
      * @param assetRepository Repository for Asset entity operations
+     * @param eventPublisher Publisher for asset change events
+     * @param storageLockRepository Repository locking the files of new assets against the deletion outbox
+     * @param transactionManager Transaction manager of the asset inserts
+     * @param maxStreamSizeMb Largest image accepted as a raw request body, in MiB
+     * @param maxConcurrentStreams Number of raw request bodies streamed to storage at once
      */
-    public FileUploadService(MinioClient minioClient,
+    public FileUploadService(ObjectStorage objectStorage,
                         SerieService serieService,
                         ArtistService artistService,
-                        AssetRepository assetRepository) {
-        this.minioClient = minioClient;
+                        AssetRepository assetRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        StorageLockRepository storageLockRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${uploads.stream.max-size-mb:500}") long maxStreamSizeMb,
+                        @Value("${uploads.stream.max-concurrent:4}") int maxConcurrentStreams) {
+        this.objectStorage = objectStorage;
         this.serieService = serieService;
         this.artistService = artistService;
         this.assetRepository = assetRepository;
+        this.eventPublisher = eventPublisher;
+        this.storageLockRepository = storageLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxStreamSizeBytes = maxStreamSizeMb * 1024 * 1024;
+        this.streamSlots = new Semaphore(Math.max(1, maxConcurrentStreams));
     }
 
     /**
@@ -75,9 +130,99 @@ public class FileUploadService {
      */
     public String handleImageUpload(MultipartFile file, String name, String description,
                                     String type, String active, String artistId, String collectionId) throws Exception {
+        Asset asset = newAsset(name, description, type, active, artistId, collectionId);
+
+        objectStorage.ensureBucket(bucketName);
+
+        String objectName = storeDeduplicated(bucketName, file, file.getOriginalFilename(), file.getContentType());
+        return saveAsset(asset, objectName, restoreFrom(file, file.getContentType()));
+    }
+
+    /**
+     * Handles an image upload read straight from a stream, such as the raw request body,
+     * and creates an Asset entity. Nothing is buffered to disk on the way to the object store;
+     * the content hash is computed while streaming, so a duplicate is detected only after its upload.
+     * Each stream holds several part buffers while it uploads, so only a few run at once.
+     * 
+     * @param content The image bytes; the stream is not closed
+     * @param originalFilename The client file name, used as the object name suffix
+     * @param contentType The content type of the image
+     * @param name The name for the asset
+     * @param description The description for the asset
+     * @param type The type of the asset
+     * @param active Whether the asset is active
+     * @param artistId The ID of the associated artist (optional)
+     * @param collectionId The ID of the associated collection/serie (optional)
+     * @return The URL of the uploaded file
+     * @throws ResponseStatusException 413 if the image exceeds the maximum size,
+     *         503 if the maximum number of streamed uploads is already running
+     * @throws Exception If an error occurs during upload or asset creation
+     */
+    public String handleImageUpload(InputStream content, String originalFilename, String contentType,
+                                    String name, String description, String type, String active,
+                                    String artistId, String collectionId) throws Exception {
 
-        if (collectionId.isBlank()) collectionId = "0";
-        if (artistId.isBlank()) artistId = "0";
+        if (!streamSlots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many streamed uploads in progress");
+        }
+        try {
+            Asset asset = newAsset(name, description, type, active, artistId, collectionId);
+
+            objectStorage.ensureBucket(bucketName);
+
+            String incomingName = INCOMING_PREFIX + UUID.randomUUID();
+            try {
+                String objectName;
+                try {
+                    objectName = storeIncoming(bucketName, incomingName,
+                            new SizeLimitedInputStream(content, maxStreamSizeBytes, null), originalFilename, contentType);
+                } catch (SizeLimitExceededException e) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Upload exceeds " + maxStreamSizeBytes / (1024 * 1024) + " MiB");
+                }
+                // The upload only takes the content-addressed name if no identical object holds it by then
+                return saveAsset(asset, objectName, target -> objectStorage.move(bucketName, incomingName, target));
+            } finally {
+                objectStorage.delete(bucketName, incomingName);
+            }
+        } finally {
+            streamSlots.release();
+        }
+    }
+
+    /**
+     * Retrieves the largest image accepted by the streamed upload.
+     * 
+     * @return The maximum size in bytes
+     */
+    public long getMaxStreamSizeBytes() {
+        return maxStreamSizeBytes;
+    }
+
+    /**
+     * Creates the Asset entity of a file a client uploaded straight to the asset bucket.
+     * 
+     * @param objectName The object name the file was stored under
+     * @param name The name for the asset
+     * @param description The description for the asset
+     * @param type The type of the asset
+     * @param active Whether the asset is active
+     * @param artistId The ID of the associated artist (optional)
+     * @param collectionId The ID of the associated collection/serie (optional)
+     * @return The URL of the file
+     */
+    public String createAssetForObject(String objectName, String name, String description, String type,
+                                       String active, String artistId, String collectionId) {
+        return saveAsset(newAsset(name, description, type, active, artistId, collectionId), objectName, target -> {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Uploaded object not found");
+        });
+    }
+
+    private Asset newAsset(String name, String description, String type, String active,
+                           String artistId, String collectionId) {
+
+        if (collectionId == null || collectionId.isBlank()) collectionId = "0";
+        if (artistId == null || artistId.isBlank()) artistId = "0";
 
         Asset asset = new Asset();
         asset.setName(name);
@@ -90,63 +235,125 @@ public class FileUploadService {
 
         serie.ifPresent(s -> asset.setSeries(List.of(s)));
         artist.ifPresent(a -> asset.setAuthors(List.of(a)));
+        return asset;
+    }
 
-        ensureBucketExists();
-
-        String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
-
-        minioClient.putObject(
-                PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .stream(file.getInputStream(), file.getSize(), -1)
-                        .contentType(file.getContentType())
-                        .build()
-        );
-
-        String fullUrl = minioUrlForDb + fileName;
+    /**
+     * Inserts an asset pointing at a stored object. Until the asset commits, nothing references the
+     * object, so the deletion outbox could remove it if it was due; the file lock keeps the outbox
+     * out until the commit, and an object removed before the lock was taken is stored again.
+     */
+    private String saveAsset(Asset asset, String objectName, ObjectRestore restore) {
+        String fullUrl = minioUrlForDb + objectName;
         asset.setUrl(fullUrl);
 
-        assetRepository.save(asset);
+        transactionTemplate.executeWithoutResult(status -> {
+            storageLockRepository.lock(List.of(fullUrl));
+            ensureStored(objectName, restore);
+            Asset savedAsset = assetRepository.save(asset);
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, savedAsset.getId(), EntityChangedEvent.ChangeType.CREATED));
+        });
 
         return fullUrl;
     }
 
     /**
-     * Ensures that the MinIO bucket exists, creating it if necessary.
+     * Stores a file of a new asset again if the deletion outbox removed it since it was stored.
+     * Must run in the transaction inserting the asset, after locking the file with StorageLockRepository.
+     * 
+     * @param objectName The object name the file was stored under
+     * @param content Source of the file bytes
+     * @param contentType The content type of the file
+     * @throws ResponseStatusException 502 if the object cannot be checked or stored
+     */
+    public void ensureAssetFile(String objectName, InputStreamSource content, String contentType) {
+        ensureStored(objectName, restoreFrom(content, contentType));
+    }
+
+    private void ensureStored(String objectName, ObjectRestore restore) {
+        try {
+            if (objectStorage.stat(bucketName, objectName).isEmpty()) {
+                restore.restore(objectName);
+            }
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Could not store " + objectName, e);
+        }
+    }
+
+    /**
+     * Locks the files of new assets created from URLs, as /assets/batch does, and checks that each one
+     * is a finished upload in the asset bucket. Staging objects are rejected: a direct upload only
+     * becomes an asset file through /file/upload/finalize, which checks its size, and an incoming
+     * stream is never one. Must run in the transaction inserting the assets.
      * 
-     * @throws Exception If an error occurs during bucket existence check or creation
+     * @param urls The URLs of the files
+     * @return The URLs in the form assets store them, in the same order
+     * @throws ResponseStatusException 400 if a URL is outside the asset bucket or names a staging object,
+     *         404 if a file does not exist, 502 if storage cannot be checked
      */
-    private void ensureBucketExists() throws Exception {
-        boolean exists = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
-        if (!exists) {
-            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+    public List<String> lockStoredAssetFiles(List<String> urls) {
+        List<String> objectNames = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            String objectName = assetObjectName(url).filter(candidate -> !candidate.isEmpty())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not a file of the asset bucket: " + url));
+            if (objectName.startsWith(DirectUploadService.STAGING_PREFIX) || objectName.startsWith(INCOMING_PREFIX)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload of " + objectName + " was not finalized");
+            }
+            objectNames.add(objectName);
         }
+        List<String> fullUrls = objectNames.stream().map(this::assetUrl).toList();
+
+        storageLockRepository.lock(fullUrls);
+        for (String objectName : new LinkedHashSet<>(objectNames)) {
+            ensureStored(objectName, missing -> {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Stored file not found: " + missing);
+            });
+        }
+        return fullUrls;
+    }
+
+    private ObjectRestore restoreFrom(InputStreamSource source, String contentType) {
+        return objectName -> {
+            try (InputStream content = source.getInputStream()) {
+                objectStorage.put(bucketName, objectName, contentType, content);
+            }
+        };
     }
 
     /**
-     * Deletes an object from the Minio bucket
-     * @param objectUrl The URL or filename of the object to delete
-     * @throws Exception If an error occurs during deletion
+     * Resolves the object name of a file stored in the asset bucket from its public URL.
+     * 
+     * @param url The public URL of the file
+     * @return Optional containing the object name, empty if the URL does not point at the asset bucket
      */
-    public void deleteObject(String objectUrl) throws Exception {
-        // Extract the filename from the URL if needed
-        String objectName = objectUrl;
-        if (objectUrl.startsWith(urlPrefix)) {
-            objectName = objectUrl.substring(urlPrefix.length());
+    public Optional<String> assetObjectName(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        if (url.startsWith(minioUrlForDb)) {
+            return Optional.of(url.substring(minioUrlForDb.length()));
         }
+        if (url.startsWith(urlPrefix)) {
+            return Optional.of(url.substring(urlPrefix.length()));
+        }
+        return Optional.empty();
+    }
 
-        // Delete the object from the bucket
-        minioClient.removeObject(
-                RemoveObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .build()
-        );
+    /**
+     * Builds the public URL of a file stored in the asset bucket. Every URL an asset stores is built
+     * here, since the deletion outbox counts the references to a file by exact URL.
+     * 
+     * @param objectName The object name of the file
+     * @return The public URL of the file
+     */
+    public String assetUrl(String objectName) {
+        return minioUrlForDb + objectName;
     }
 
     /**
-     * Uploads a file to the MinIO bucket.
+     * Uploads a file to the asset bucket.
      * 
      * @param file The file to upload
      * @return The URL of the uploaded file
@@ -154,24 +361,13 @@ public class FileUploadService {
      */
     public String uploadFile(MultipartFile file) throws Exception {
 
-        ensureBucketExists();
-
-        String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
+        objectStorage.ensureBucket(bucketName);
 
-        minioClient.putObject(
-                PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .stream(file.getInputStream(), file.getSize(), -1)
-                        .contentType(file.getContentType())
-                        .build()
-        );
-
-        return urlPrefix + fileName;
+        return assetUrl(storeDeduplicated(bucketName, file, file.getOriginalFilename(), file.getContentType()));
     }
 
     /**
-     * Uploads a logo file to the dedicated logo bucket in MinIO.
+     * Uploads a logo file to the dedicated logo bucket.
      * 
      * @param file The logo file to upload
      * @return The URL of the uploaded logo
@@ -179,20 +375,94 @@ public class FileUploadService {
      */
     public String uploadLogo(MultipartFile file) throws Exception {
 
-        ensureBucketExists();
+        objectStorage.ensureBucket(logoBucketName);
 
-        String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
+        return logoUrlPrefix + storeDeduplicated(logoBucketName, file, file.getOriginalFilename(), file.getContentType());
+    }
 
-        minioClient.putObject(
-                PutObjectArgs.builder()
-                        .bucket(logoBucketName)
-                        .object(fileName)
-                        .stream(file.getInputStream(), file.getSize(), -1)
-                        .contentType(file.getContentType())
-                        .build()
-        );
+    /**
+     * Stores a file in the asset bucket under its content hash, without creating an asset.
+     * The bucket must exist; see ensureAssetBucket.
+     * 
+     * @param content Source of the file bytes, opened twice: once to hash, once to upload
+     * @param originalFilename The client file name, whose extension is kept
+     * @param contentType The content type of the file
+     * @return The object name of the stored file
+     * @throws Exception If the file cannot be read or stored
+     */
+    public String storeAssetFile(InputStreamSource content, String originalFilename, String contentType) throws Exception {
+        return storeDeduplicated(bucketName, content, originalFilename, contentType);
+    }
 
-        return logoUrlPrefix + fileName;
+    /**
+     * Creates the asset bucket if it does not exist yet.
+     * 
+     * @throws Exception If the bucket cannot be checked or created
+     */
+    public void ensureAssetBucket() throws Exception {
+        objectStorage.ensureBucket(bucketName);
     }
 
+    /**
+     * Stores a file under its content hash. The file is hashed from a re-readable source first,
+     * such as the servlet container's copy, so when an identical object already exists nothing is uploaded.
+     * 
+     * @param bucket The bucket to store the file in
+     * @param source Source of the file bytes
+     * @param originalFilename The client file name, whose extension is kept
+     * @param contentType The content type of the file
+     * @return The object name of the stored file
+     * @throws Exception If the file cannot be read or stored
+     */
+    private String storeDeduplicated(String bucket, InputStreamSource source, String originalFilename,
+                                     String contentType) throws Exception {
+        MessageDigest digest = sha256();
+        try (InputStream content = new DigestInputStream(source.getInputStream(), digest)) {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+        String objectName = HexFormat.of().formatHex(digest.digest()) + extensionOf(originalFilename);
+        if (objectStorage.stat(bucket, objectName).isEmpty()) {
+            try (InputStream content = source.getInputStream()) {
+                objectStorage.put(bucket, objectName, contentType, content);
+            }
+        }
+        return objectName;
+    }
+
+    /**
+     * Uploads a stream under a temporary name and computes its content-addressed name, which is only
+     * known once the stream is consumed. The caller renames the object in place, or drops it if an
+     * identical object already exists.
+     * 
+     * @param bucket The bucket to store the content in
+     * @param incomingName The temporary object name
+     * @param content The content to store; the stream is not closed
+     * @param originalFilename The client file name, whose extension is kept
+     * @param contentType The content type of the content
+     * @return The content-addressed object name of the content
+     * @throws Exception If the content cannot be read or stored
+     */
+    private String storeIncoming(String bucket, String incomingName, InputStream content, String originalFilename,
+                                 String contentType) throws Exception {
+        MessageDigest digest = sha256();
+        objectStorage.put(bucket, incomingName, contentType, new DigestInputStream(content, digest));
+        return HexFormat.of().formatHex(digest.digest()) + extensionOf(originalFilename);
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        String extension = dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return SAFE_EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,265 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.JobStatus;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import com.aleix.XposeAPI.util.ImageResizer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates resized copies of uploaded images (320, 800 and 1600px wide) so list and grid views
+ * do not download the full-size original. Derivatives are rendered with {@link ImageResizer} on a small
+ * background executor after the asset change commits, stored next to the original, and recorded
+ * on the asset. Assets whose derivatives are still null are picked up by the backfill job, which
+ * keeps its progress in the database and can therefore be restarted at any time.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final String BACKFILL_JOB_TYPE = "asset-derivatives-backfill";
+    private static final int BACKFILL_PAGE_SIZE = 100;
+    private static final int THUMBNAIL_WIDTH = 320;
+    private static final int MEDIUM_WIDTH = 800;
+    private static final int LARGE_WIDTH = 1600;
+
+    private final AssetRepository assetRepository;
+    private final FileUploadService fileUploadService;
+    private final ObjectStorage objectStorage;
+    private final JobRegistry jobRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final float jpegQuality;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+    private JobRegistry.Job backfill;
+
+    /**
+     * Constructor for ImageDerivativeService.
+     * 
+     * @param assetRepository Repository for Asset entity operations
+     * @param fileUploadService Service mapping asset URLs to stored objects
+     * @param objectStorage Storage backend holding the originals and derivatives
+     * @param jobRegistry Registry the backfill job reports its progress to
+     * @param eventPublisher Publisher for asset change events
+     * @param transactionManager Transaction manager used to record the derivatives
+     * @param bucketName Bucket holding the assets
+     * @param jpegQuality JPEG quality of the derivatives, between 0 and 1
+     * @param threads Number of images rendered in parallel
+     */
+    public ImageDerivativeService(AssetRepository assetRepository, FileUploadService fileUploadService,
+                                  ObjectStorage objectStorage, JobRegistry jobRegistry,
+                                  ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                  @Value("${minio.bucket}") String bucketName,
+                                  @Value("${images.derivatives.jpeg-quality:0.82}") float jpegQuality,
+                                  @Value("${images.derivatives.threads:2}") int threads) {
+        this.assetRepository = assetRepository;
+        this.fileUploadService = fileUploadService;
+        this.objectStorage = objectStorage;
+        this.jobRegistry = jobRegistry;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bucketName = bucketName;
+        this.jpegQuality = jpegQuality;
+        this.threads = threads;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Schedules derivative generation for created assets and for updated assets whose image changed.
+     * 
+     * @param event The committed entity change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() != Asset.class || event.getChangeType() == EntityChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        Long assetId = event.getEntityId();
+        executor.execute(() -> {
+            try {
+                generate(assetId);
+            } catch (Exception e) {
+                // Left pending; the next backfill retries it
+                log.warn("Could not generate the derivatives of asset {}", assetId, e);
+            }
+        });
+    }
+
+    /**
+     * Starts the backfill job over every asset without derivatives, unless one is already running.
+     * 
+     * @return Status of the started or already running backfill job
+     */
+    public synchronized JobStatus startBackfill() {
+        if (backfill != null && backfill.isRunning()) {
+            return backfill.status();
+        }
+        JobRegistry.Job job = jobRegistry.start(BACKFILL_JOB_TYPE);
+        job.addTotal(assetRepository.countByThumbnailUrlIsNull());
+        backfill = job;
+        Thread coordinator = new Thread(() -> runBackfill(job), "image-derivatives-backfill");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return job.status();
+    }
+
+    private void runBackfill(JobRegistry.Job job) {
+        // Bounds the ids handed to the executor, so the backfill never floods its queue
+        Semaphore inFlight = new Semaphore(threads * 2);
+        try {
+            long afterId = 0;
+            List<Long> ids;
+            while (!(ids = assetRepository.findIdsMissingDerivatives(afterId, PageRequest.of(0, BACKFILL_PAGE_SIZE))).isEmpty()) {
+                for (Long id : ids) {
+                    inFlight.acquire();
+                    executor.execute(() -> {
+                        try {
+                            generate(id);
+                            job.recordProcessed();
+                        } catch (Exception e) {
+                            log.warn("Could not generate the derivatives of asset {}", id, e);
+                            job.recordFailed();
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+            inFlight.acquire(threads * 2);
+            job.complete();
+            log.info("Derivative backfill finished: {} processed, {} failed", job.status().processed(), job.status().failed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        } catch (RuntimeException e) {
+            log.error("Derivative backfill failed", e);
+            job.fail(e);
+        }
+    }
+
+    /**
+     * Renders and records the derivatives of one asset. Assets that already have them are skipped.
+     * Files that are not in the asset bucket, or that ImageIO cannot decode, get the original URL as
+     * every derivative so they are not retried.
+     */
+    private void generate(Long assetId) throws Exception {
+        Optional<Asset> found = assetRepository.findById(assetId);
+        if (found.isEmpty() || found.get().getThumbnailUrl() != null) {
+            return;
+        }
+        String url = found.get().getUrl();
+        Optional<String> objectName = fileUploadService.assetObjectName(url);
+        // Identical uploads share one object, and with it the derivatives of an earlier asset
+        Optional<Asset> sibling = assetRepository.findFirstByUrlAndThumbnailUrlIsNotNull(url);
+        List<String> written = new ArrayList<>();
+        String[] derivativeUrls;
+        if (sibling.isPresent()) {
+            derivativeUrls = new String[]{sibling.get().getThumbnailUrl(), sibling.get().getMediumUrl(), sibling.get().getLargeUrl()};
+        } else if (objectName.isPresent()) {
+            derivativeUrls = render(url, objectName.get(), written);
+        } else {
+            derivativeUrls = new String[]{url, url, url};
+        }
+
+        Boolean recorded = transactionTemplate.execute(status -> {
+            if (assetRepository.updateDerivatives(assetId, url, derivativeUrls[0], derivativeUrls[1], derivativeUrls[2]) == 0) {
+                return false;
+            }
+            eventPublisher.publishEvent(new EntityChangedEvent(Asset.class, assetId, EntityChangedEvent.ChangeType.UPDATED));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(recorded) && assetRepository.countByUrl(url) == 0) {
+            // The asset was deleted or its image replaced while rendering, and no other asset shares it
+            for (String name : written) {
+                objectStorage.delete(bucketName, name);
+            }
+        }
+    }
+
+    /**
+     * Renders the derivatives of a stored image, largest first, each one scaled down from the previous.
+     * 
+     * @return The thumbnail, medium and large URLs
+     */
+    private String[] render(String url, String objectName, List<String> written) throws Exception {
+        byte[] original;
+        try (InputStream content = objectStorage.get(bucketName, objectName)) {
+            original = content.readAllBytes();
+        }
+        ImageResizer.DecodedImage decoded;
+        try {
+            decoded = ImageResizer.decode(original, LARGE_WIDTH, 0);
+        } catch (IOException | RuntimeException e) {
+            decoded = null;
+            log.info("Asset image {} cannot be decoded: {}", objectName, e.getMessage());
+        }
+        if (decoded == null) {
+            // Not an image ImageIO can read; the original stands in for every size
+            return new String[]{url, url, url};
+        }
+
+        BufferedImage image = decoded.image();
+        int dot = objectName.lastIndexOf('.');
+        String baseName = dot > 0 ? objectName.substring(0, dot) : objectName;
+
+        int[] widths = {LARGE_WIDTH, MEDIUM_WIDTH, THUMBNAIL_WIDTH};
+        String[] urls = new String[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            int width = widths[i];
+            if (decoded.originalWidth() <= width) {
+                urls[i] = url;
+                continue;
+            }
+            image = ImageResizer.scaleToWidth(image, width);
+            ImageResizer.EncodedImage encoded = ImageResizer.encode(image, jpegQuality);
+            String name = baseName + "-" + width + "w." + encoded.extension();
+            objectStorage.put(bucketName, name, encoded.contentType(), new ByteArrayInputStream(encoded.bytes()));
+            written.add(name);
+            urls[i] = fileUploadService.assetUrl(name);
+        }
+        return new String[]{urls[2], urls[1], urls[0]};
+    }
+
+    /**
+     * Stops the render threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,318 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.DiskCacheStats;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import com.aleix.XposeAPI.util.DiskLruCache;
+import com.aleix.XposeAPI.util.ImageResizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves asset images resized on demand to arbitrary dimensions.
+ * Rendered variants are kept in a size-bounded disk LRU cache keyed by the image URL and the
+ * requested geometry. Concurrent requests for the same missing variant share a single render,
+ * and the number of renders running at once is capped so a burst cannot exhaust the heap.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final Set<String> FITS = Set.of("inside", "cover", "fill");
+    private static final int PNG_FIRST_BYTE = 0x89;
+
+    private final AssetRepository assetRepository;
+    private final FileUploadService fileUploadService;
+    private final ObjectStorage objectStorage;
+    private final String bucketName;
+    private final int maxDimension;
+    private final float jpegQuality;
+    private final long renderTimeoutMillis;
+    private final DiskLruCache cache;
+    private final Semaphore renders;
+    private final ConcurrentHashMap<String, CompletableFuture<ImageResizer.EncodedImage>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Rendered variant ready to be sent. The caller closes the content stream.
+     *
+     * @param content Stream of the encoded image
+     * @param size Size of the encoded image in bytes
+     * @param contentType Content type of the encoded image
+     * @param eTag Strong ETag identifying the variant
+     */
+    public record Variant(InputStream content, long size, String contentType, String eTag) {
+    }
+
+    /**
+     * Constructor for ImageVariantService.
+     * 
+     * @param assetRepository Repository for Asset entity operations
+     * @param fileUploadService Service mapping asset URLs to stored objects
+     * @param objectStorage Storage backend holding the original images
+     * @param bucketName Bucket holding the assets
+     * @param cacheDirectory Directory of the variant cache
+     * @param cacheMaxMb Size limit of the variant cache in MiB
+     * @param maxDimension Largest width or height that can be requested
+     * @param maxConcurrentRenders Number of variants rendered at once
+     * @param renderTimeoutMillis How long a request waits for a render slot before failing with 503
+     * @param jpegQuality JPEG quality of the variants, between 0 and 1
+     * @throws IOException If the cache directory cannot be created or read
+     */
+    public ImageVariantService(AssetRepository assetRepository, FileUploadService fileUploadService,
+                               ObjectStorage objectStorage,
+                               @Value("${minio.bucket}") String bucketName,
+                               @Value("${images.variants.cache-dir:${java.io.tmpdir}/xpose-image-cache}") String cacheDirectory,
+                               @Value("${images.variants.cache-max-mb:512}") long cacheMaxMb,
+                               @Value("${images.variants.max-dimension:4000}") int maxDimension,
+                               @Value("${images.variants.max-concurrent-renders:2}") int maxConcurrentRenders,
+                               @Value("${images.variants.render-timeout-ms:10000}") long renderTimeoutMillis,
+                               @Value("${images.derivatives.jpeg-quality:0.82}") float jpegQuality) throws IOException {
+        this.assetRepository = assetRepository;
+        this.fileUploadService = fileUploadService;
+        this.objectStorage = objectStorage;
+        this.bucketName = bucketName;
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+        this.renderTimeoutMillis = renderTimeoutMillis;
+        this.cache = new DiskLruCache(Path.of(cacheDirectory), cacheMaxMb * 1024 * 1024);
+        this.renders = new Semaphore(maxConcurrentRenders);
+    }
+
+    /**
+     * Retrieves the image of an asset resized to the requested geometry.
+     * Images are never scaled up, except with {@code fit=fill}.
+     * 
+     * @param assetId The ID of the asset
+     * @param width Requested width, or null to derive it from the height
+     * @param height Requested height, or null to derive it from the width
+     * @param fit inside to fit within the box, cover to fill the box and crop the overflow, fill to stretch
+     * @return Optional containing the variant, empty if the asset does not exist
+     * @throws ResponseStatusException 400 on invalid geometry, 404 if the image is not stored here,
+     *         415 if it cannot be decoded, 503 if every render slot stays busy
+     */
+    public Optional<Variant> getVariant(Long assetId, Integer width, Integer height, String fit) {
+        validate(width, height, fit);
+        Optional<String> assetUrl = assetRepository.findUrlById(assetId);
+        if (assetUrl.isEmpty()) {
+            return Optional.empty();
+        }
+        String url = assetUrl.get();
+        String objectName = fileUploadService.assetObjectName(url)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Asset image is not stored in the asset bucket"));
+        String key = cacheKey(url, width, height, fit);
+        String eTag = eTagOf(key);
+
+        Optional<Variant> cached = fromCache(key, eTag);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        CompletableFuture<ImageResizer.EncodedImage> render = new CompletableFuture<>();
+        CompletableFuture<ImageResizer.EncodedImage> running = inFlight.putIfAbsent(key, render);
+        ImageResizer.EncodedImage encoded;
+        if (running != null) {
+            coalesced.increment();
+            encoded = await(running);
+        } else {
+            // Whatever the render throws, Errors included, must reach the coalesced waiters
+            try {
+                encoded = render(objectName, width, height, fit);
+                render.complete(encoded);
+            } catch (IOException e) {
+                render.completeExceptionally(e);
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Could not read the asset image", e);
+            } catch (Throwable e) {
+                render.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, render);
+            }
+            cacheVariant(key, encoded);
+        }
+        return Optional.of(new Variant(new ByteArrayInputStream(encoded.bytes()), encoded.bytes().length, encoded.contentType(), eTag));
+    }
+
+    /**
+     * Computes the ETag a variant is served with, without reading the cache or rendering anything.
+     * The tag depends only on the image URL and the requested geometry, so revalidations can be
+     * answered before any image work.
+     * 
+     * @param assetId The ID of the asset
+     * @param width Requested width, or null to derive it from the height
+     * @param height Requested height, or null to derive it from the width
+     * @param fit inside to fit within the box, cover to fill the box and crop the overflow, fill to stretch
+     * @return Optional containing the ETag, empty if the asset does not exist
+     * @throws ResponseStatusException 400 on invalid geometry
+     */
+    public Optional<String> getVariantETag(Long assetId, Integer width, Integer height, String fit) {
+        validate(width, height, fit);
+        return assetRepository.findUrlById(assetId).map(url -> eTagOf(cacheKey(url, width, height, fit)));
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction metrics of the variant cache.
+     * 
+     * @return Current cache statistics
+     */
+    public DiskCacheStats getCacheStats() {
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+        long lookups = hits + misses;
+        return new DiskCacheStats(hits, misses, lookups == 0 ? 0 : (double) hits / lookups, coalesced.sum(),
+                cache.getEvictions(), cache.getEntries(), cache.getSizeBytes(), cache.getMaxBytes());
+    }
+
+    private void validate(Integer width, Integer height, String fit) {
+        if (!FITS.contains(fit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fit must be one of " + FITS);
+        }
+        if (width == null && height == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "w or h is required");
+        }
+        if (!"inside".equals(fit) && (width == null || height == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fit=" + fit + " needs both w and h");
+        }
+        for (Integer dimension : new Integer[]{width, height}) {
+            if (dimension != null && (dimension < 1 || dimension > maxDimension)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "w and h must be between 1 and " + maxDimension);
+            }
+        }
+    }
+
+    /**
+     * Stores a rendered variant; a cache failure only costs a later re-render, so the bytes are served anyway.
+     */
+    private void cacheVariant(String key, ImageResizer.EncodedImage encoded) {
+        try {
+            cache.put(key, encoded.bytes());
+        } catch (IOException e) {
+            log.warn("Could not cache image variant {}", key, e);
+        }
+    }
+
+    private Optional<Variant> fromCache(String key, String eTag) {
+        Optional<Path> file = cache.get(key);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            long size = Files.size(file.get());
+            InputStream content = new BufferedInputStream(Files.newInputStream(file.get()));
+            // Variants are JPEG unless the image has transparency, in which case they are PNG
+            content.mark(1);
+            String contentType = content.read() == PNG_FIRST_BYTE ? "image/png" : "image/jpeg";
+            content.reset();
+            return Optional.of(new Variant(content, size, contentType, eTag));
+        } catch (IOException e) {
+            // Evicted between the lookup and the open, or unreadable; render it again
+            cache.invalidate(key);
+        }
+        return Optional.empty();
+    }
+
+    private ImageResizer.EncodedImage render(String objectName, Integer width, Integer height, String fit) throws IOException {
+        try {
+            if (!renders.tryAcquire(renderTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many image renders in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting to render", e);
+        }
+        try {
+            byte[] original;
+            try (InputStream content = objectStorage.get(bucketName, objectName)) {
+                original = content.readAllBytes();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            ImageResizer.DecodedImage decoded;
+            try {
+                decoded = ImageResizer.decode(original, width != null ? width : 0, height != null ? height : 0);
+            } catch (IOException | RuntimeException e) {
+                decoded = null;
+            }
+            if (decoded == null) {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Asset image cannot be decoded");
+            }
+            return ImageResizer.encode(resize(decoded.image(), width, height, fit), jpegQuality);
+        } finally {
+            renders.release();
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, Integer width, Integer height, String fit) {
+        int sourceWidth = image.getWidth();
+        int sourceHeight = image.getHeight();
+        switch (fit) {
+            case "fill":
+                return ImageResizer.scale(image, width, height);
+            case "cover": {
+                double scale = Math.min(1.0, Math.max((double) width / sourceWidth, (double) height / sourceHeight));
+                BufferedImage scaled = ImageResizer.scale(image,
+                        Math.max(1, (int) Math.round(sourceWidth * scale)), Math.max(1, (int) Math.round(sourceHeight * scale)));
+                return ImageResizer.cropCenter(scaled, Math.min(width, scaled.getWidth()), Math.min(height, scaled.getHeight()));
+            }
+            default: {
+                double scale = Math.min(1.0, Math.min(
+                        width != null ? (double) width / sourceWidth : Double.MAX_VALUE,
+                        height != null ? (double) height / sourceHeight : Double.MAX_VALUE));
+                return ImageResizer.scale(image,
+                        Math.max(1, (int) Math.round(sourceWidth * scale)), Math.max(1, (int) Math.round(sourceHeight * scale)));
+            }
+        }
+    }
+
+    private ImageResizer.EncodedImage await(CompletableFuture<ImageResizer.EncodedImage> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ResponseStatusException status) {
+                throw status;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Could not render the asset image", e.getCause());
+        }
+    }
+
+    private static String eTagOf(String key) {
+        return "\"" + key + "\"";
+    }
+
+    private static String cacheKey(String url, Integer width, Integer height, String fit) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((url + "|" + width + "|" + height + "|" + fit).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
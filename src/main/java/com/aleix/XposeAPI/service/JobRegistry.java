@@ -0,0 +1,142 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.JobStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory registry of background jobs, so long-running work can return right away
+ * and be followed with GET /jobs/{id}. Jobs do not survive a restart; the jobs that need to
+ * be resumable keep their progress in the database.
+ */
+@Service
+public class JobRegistry {
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final int retainedJobs;
+
+    /**
+     * Constructor for JobRegistry.
+     * 
+     * @param retainedJobs Number of finished jobs kept for status queries
+     */
+    public JobRegistry(@Value("${jobs.retained:100}") int retainedJobs) {
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Registers a new running job.
+     * 
+     * @param type Kind of job
+     * @return Handle the job reports its progress through
+     */
+    public synchronized Job start(String type) {
+        Job job = new Job(UUID.randomUUID().toString(), type);
+        jobs.put(job.id(), job);
+        evictFinished();
+        return job;
+    }
+
+    /**
+     * Retrieves the status of a job.
+     * 
+     * @param id The ID of the job
+     * @return Optional containing the job status if the job is known, empty otherwise
+     */
+    public synchronized Optional<JobStatus> getStatus(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::status);
+    }
+
+    /**
+     * Retrieves the status of every known job, oldest first.
+     * 
+     * @return List of job statuses
+     */
+    public synchronized List<JobStatus> getStatuses() {
+        List<JobStatus> statuses = new ArrayList<>(jobs.size());
+        for (Job job : jobs.values()) {
+            statuses.add(job.status());
+        }
+        return statuses;
+    }
+
+    private void evictFinished() {
+        long finished = jobs.values().stream().filter(job -> !job.isRunning()).count();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (finished > retainedJobs && iterator.hasNext()) {
+            if (!iterator.next().isRunning()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    /**
+     * Progress handle of a running job. Safe to update from several worker threads.
+     */
+    public static final class Job {
+
+        private final String id;
+        private final String type;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile JobStatus.State state = JobStatus.State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public boolean isRunning() {
+            return state == JobStatus.State.RUNNING;
+        }
+
+        public void addTotal(long items) {
+            total.addAndGet(items);
+        }
+
+        public void recordProcessed() {
+            processed.incrementAndGet();
+        }
+
+        public void recordFailed() {
+            failed.incrementAndGet();
+        }
+
+        public void complete() {
+            finish(JobStatus.State.COMPLETED, null);
+        }
+
+        public void fail(Throwable cause) {
+            finish(JobStatus.State.FAILED, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        }
+
+        private void finish(JobStatus.State finalState, String message) {
+            this.error = message;
+            this.finishedAt = Instant.now();
+            this.state = finalState;
+        }
+
+        public JobStatus status() {
+            return new JobStatus(id, type, state, total.get(), processed.get(), failed.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies the signed (HS256) bearer tokens used by the backoffice.
+ * The signing key and the parser are built once; verified claims are cached by token
+ * until they expire, so repeated requests with the same token skip signature checks.
+ */
+@Service
+public class JwtService {
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final String EMAIL_CLAIM = "email";
+
+    /**
+     * Identity carried by a verified token.
+     */
+    public record TokenClaims(Long userId, String email, Instant expiresAt) {
+    }
+
+    /**
+     * A freshly issued token and its expiry.
+     */
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Duration expiration;
+    private final Map<String, TokenClaims> verifiedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for JwtService.
+     * 
+     * @param secret Base64-encoded HMAC key of at least 256 bits
+     * @param expirationMinutes Lifetime of issued tokens in minutes
+     */
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration-minutes:480}") long expirationMinutes) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expiration = Duration.ofMinutes(expirationMinutes);
+    }
+
+    /**
+     * Issues a token for a user.
+     * 
+     * @param user The authenticated user
+     * @return The signed token and its expiry
+     */
+    public IssuedToken issue(User user) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(expiration);
+        String token = Jwts.builder()
+                .setSubject(user.getId().toString())
+                .claim(EMAIL_CLAIM, user.getEmail())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Verifies a token without touching the database.
+     * 
+     * @param token The compact token from the Authorization header
+     * @return Optional containing the claims if the token is valid and not expired, empty otherwise
+     */
+    public Optional<TokenClaims> verify(String token) {
+        TokenClaims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            TokenClaims verified = new TokenClaims(Long.valueOf(claims.getSubject()),
+                    claims.get(EMAIL_CLAIM, String.class), claims.getExpiration().toInstant());
+            cache(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void cache(String token, TokenClaims claims) {
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            Instant now = Instant.now();
+            verifiedTokens.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+            if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, claims);
+    }
+}
@@ -0,0 +1,89 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.CursorPage;
+import com.aleix.XposeAPI.specification.KeysetSpecifications;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Helper for keyset (cursor) pagination shared by the entity services.
+ * Seeks on {@code (sort key, id)} and fetches one extra row to detect a next window,
+ * so neither OFFSET nor a COUNT(*) query is ever issued.
+ */
+final class KeysetPagination {
+
+    static final int MAX_LIMIT = 500;
+
+    private static final char SEPARATOR = '\u001F';
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Fetches one window of entities.
+     * 
+     * @param repository Repository to query
+     * @param filter Filter to apply, or null for the whole table
+     * @param sortKey Entity attribute to sort by; must be one of {@code allowedSortKeys}
+     * @param allowedSortKeys Non-null String attributes usable as sort keys, plus "id"
+     * @param after Opaque cursor returned by the previous window, or null for the first one
+     * @param limit Maximum number of items in the window
+     * @return The window of entities with the cursor of the next one
+     * @throws ResponseStatusException 400 if the sort key or cursor is not valid
+     */
+    static <T> CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                   String sortKey, Set<String> allowedSortKeys, String after, int limit) {
+        if (!allowedSortKeys.contains(sortKey)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort key: " + sortKey);
+        }
+        int windowSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Specification<T> spec = Specification.where(filter);
+        if (after != null && !after.isEmpty()) {
+            String[] position = decode(after, sortKey);
+            spec = spec.and(KeysetSpecifications.after(sortKey, position[0], Long.parseLong(position[1])));
+        }
+
+        Sort order = "id".equals(sortKey) ? Sort.by("id") : Sort.by(sortKey).and(Sort.by("id"));
+        List<T> rows = repository.findBy(spec, query -> query.sortBy(order).limit(windowSize + 1).all());
+
+        boolean hasNext = rows.size() > windowSize;
+        List<T> items = hasNext ? rows.subList(0, windowSize) : rows;
+        String nextCursor = hasNext ? encode(sortKey, items.getLast()) : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    private static String encode(String sortKey, Object last) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(last);
+        Object sortValue = "id".equals(sortKey) ? "" : wrapper.getPropertyValue(sortKey);
+        String raw = sortKey + SEPARATOR + sortValue + SEPARATOR + wrapper.getPropertyValue("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into its sort value and id.
+     * The cursor must have been produced for the same sort key.
+     */
+    private static String[] decode(String cursor, String sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3 || !parts[0].equals(sortKey)) {
+                throw new IllegalArgumentException("Cursor does not match sort key");
+            }
+            Long.parseLong(parts[2]);
+            return new String[] {parts[1], parts[2]};
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.aleix.XposeAPI.service;
+
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.PutObjectArgs;
+import io.minio.messages.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams an object to MinIO with S3 multipart upload, sending several parts in parallel.
+ * The source stream is read one part at a time while earlier parts are still in flight, so nothing
+ * is staged on disk and at most {@code parallelParts + 1} part buffers are held per upload.
+ * Objects smaller than one part are sent with a single PUT.
+ */
+@Service
+public class MultipartUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(MultipartUploadService.class);
+
+    // S3 rejects non-final parts smaller than 5 MiB
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Exposes the multipart primitives that MinioAsyncClient only offers to subclasses.
+     * It shares the HTTP client of the wrapped MinioAsyncClient bean, which closes it on shutdown,
+     * so the wrapper itself is never closed.
+     */
+    @SuppressWarnings("try")
+    private static final class PartUploadClient extends MinioAsyncClient {
+
+        private PartUploadClient(MinioAsyncClient client) {
+            super(client);
+        }
+    }
+
+    private final PartUploadClient client;
+    private final int partSize;
+    private final int parallelParts;
+
+    /**
+     * Constructor for MultipartUploadService.
+     * 
+     * @param minioAsyncClient Asynchronous MinIO client
+     * @param partSizeMb Size of each uploaded part in MiB (at least 5)
+     * @param parallelParts Number of parts uploaded concurrently per object
+     */
+    public MultipartUploadService(MinioAsyncClient minioAsyncClient,
+                                  @Value("${minio.upload.part-size-mb:8}") int partSizeMb,
+                                  @Value("${minio.upload.parallel-parts:4}") int parallelParts) {
+        this.client = new PartUploadClient(minioAsyncClient);
+        this.partSize = Math.max(MIN_PART_SIZE, partSizeMb * 1024 * 1024);
+        this.parallelParts = Math.max(1, parallelParts);
+    }
+
+    /**
+     * Uploads everything readable from a stream as one object. The stream is not closed.
+     * 
+     * @param bucket Target bucket
+     * @param objectName Target object name
+     * @param contentType Content type stored with the object
+     * @param source Stream to read the object from
+     * @return Number of bytes uploaded
+     * @throws Exception If reading the source or any part of the upload fails; a started multipart upload is aborted
+     */
+    public long upload(String bucket, String objectName, String contentType, InputStream source) throws Exception {
+        byte[] data = source.readNBytes(partSize);
+        if (data.length < partSize) {
+            client.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(objectName)
+                    .stream(new ByteArrayInputStream(data), data.length, -1)
+                    .contentType(contentType)
+                    .build()).get();
+            return data.length;
+        }
+
+        Multimap<String, String> headers = contentType == null
+                ? ImmutableMultimap.of()
+                : ImmutableMultimap.of("Content-Type", contentType);
+        String uploadId = client.createMultipartUploadAsync(bucket, null, objectName, headers, null)
+                .get().result().uploadId();
+
+        Semaphore inFlight = new Semaphore(parallelParts);
+        List<CompletableFuture<Part>> parts = new ArrayList<>();
+        long uploaded = 0;
+        try {
+            int partNumber = 1;
+            while (data.length > 0) {
+                inFlight.acquire();
+                failFast(parts);
+                int number = partNumber++;
+                parts.add(client.uploadPartAsync(bucket, null, objectName, data, data.length, uploadId, number, null, null)
+                        .thenApply(response -> new Part(number, response.etag()))
+                        .whenComplete((part, error) -> inFlight.release()));
+                uploaded += data.length;
+                // Read the next part while the previous ones are uploading
+                data = data.length < partSize ? new byte[0] : source.readNBytes(partSize);
+            }
+
+            Part[] completed = new Part[parts.size()];
+            for (int i = 0; i < completed.length; i++) {
+                completed[i] = parts.get(i).get();
+            }
+            client.completeMultipartUploadAsync(bucket, null, objectName, uploadId, completed, null, null).get();
+            return uploaded;
+        } catch (Exception e) {
+            abort(bucket, objectName, uploadId);
+            throw e;
+        }
+    }
+
+    private static void failFast(List<CompletableFuture<Part>> parts) throws Exception {
+        for (CompletableFuture<Part> part : parts) {
+            if (part.isCompletedExceptionally()) {
+                part.get();
+            }
+        }
+    }
+
+    private void abort(String bucket, String objectName, String uploadId) {
+        try {
+            client.abortMultipartUploadAsync(bucket, null, objectName, uploadId, null, null).get();
+        } catch (Exception e) {
+            // An orphaned upload is only storage overhead; MinIO expires it eventually
+            log.warn("Could not abort multipart upload {} of {}/{}", uploadId, bucket, objectName, e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.aleix.XposeAPI.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies passwords with BCrypt on a small bounded executor.
+ * BCrypt is deliberately slow, so a burst of logins queues here instead of tying up request
+ * threads; once the queue is full further attempts are rejected with 503.
+ * Passwords stored before hashing was introduced are still accepted so they can be upgraded.
+ */
+@Service
+public class PasswordService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    // Hash of a random password, checked when the email is unknown so timing does not reveal it
+    private final String dummyHash = encoder.encode(UUID.randomUUID().toString());
+    private final ThreadPoolExecutor hashingExecutor;
+
+    /**
+     * Constructor for PasswordService.
+     * 
+     * @param threads Number of threads hashing in parallel
+     * @param queueCapacity Number of hashing tasks allowed to wait before new ones are rejected
+     */
+    public PasswordService(@Value("${auth.password-hashing.threads:2}") int threads,
+                           @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Checks a raw password against a stored value on the hashing executor.
+     * 
+     * @param rawPassword The password sent by the client
+     * @param storedPassword The stored BCrypt hash or legacy plain value, or null if the user is unknown
+     * @return Future completing with true if the password matches
+     * @throws ResponseStatusException 503 if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String storedPassword) {
+        return submit(() -> {
+            if (rawPassword == null || storedPassword == null) {
+                encoder.matches("", dummyHash);
+                return false;
+            }
+            if (!isHashed(storedPassword)) {
+                return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                        storedPassword.getBytes(StandardCharsets.UTF_8));
+            }
+            return encoder.matches(rawPassword, storedPassword);
+        });
+    }
+
+    /**
+     * Hashes a raw password on the hashing executor and waits for the result.
+     * 
+     * @param rawPassword The password to hash
+     * @return The BCrypt hash
+     * @throws ResponseStatusException 503 if the hashing queue is full
+     */
+    public String hash(String rawPassword) {
+        try {
+            return hashAsync(rawPassword).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Hashes a raw password on the hashing executor.
+     * 
+     * @param rawPassword The password to hash
+     * @return Future completing with the BCrypt hash
+     * @throws ResponseStatusException 503 if the hashing queue is full
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Tells whether a stored value is already a BCrypt hash rather than a legacy plain password.
+     * 
+     * @param storedPassword The stored value
+     * @return true if the value is a BCrypt hash
+     */
+    public boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashingExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, retry shortly");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,220 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Address;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.CacheStats;
+import com.aleix.XposeAPI.model.ContactInformation;
+import com.aleix.XposeAPI.model.Serie;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of the serialized public catalog served by /series/public-collections.
+ * The catalog is rebuilt in the background whenever an asset, serie or artist changes;
+ * readers keep getting the previous copy until the new one is ready.
+ */
+@Service
+public class PublicCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicCatalogCache.class);
+
+    // Artists are serialized with their contact information and address
+    private static final Set<Class<?>> CATALOG_TYPES = Set.of(Asset.class, Serie.class, Artist.class,
+            ContactInformation.class, Address.class);
+
+    /**
+     * Immutable cached catalog: the JSON body and the version it was built as.
+     */
+    public record Snapshot(byte[] json, long version) {
+    }
+
+    private final SerieService serieService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long rebuildRetryMillis;
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "public-catalog-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong failedRebuilds = new AtomicLong();
+    private final AtomicLong lastRebuildNanos = new AtomicLong();
+    private final AtomicLong totalRebuildNanos = new AtomicLong();
+
+    /**
+     * Constructor for PublicCatalogCache.
+     *
+     * @param serieService Service that assembles the public catalog
+     * @param objectMapper Mapper used to serialize the catalog once per rebuild
+     * @param transactionManager Transaction manager for the read-only rebuild transaction
+     * @param rebuildRetryMillis Delay before a failed background rebuild is tried again
+     */
+    public PublicCatalogCache(SerieService serieService, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${catalog.cache.rebuild-retry-ms:5000}") long rebuildRetryMillis) {
+        this.serieService = serieService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildRetryMillis = rebuildRetryMillis;
+    }
+
+    /**
+     * Returns the cached public catalog, building it on the calling thread only when nothing is cached yet.
+     *
+     * @return The current catalog snapshot, possibly stale while a rebuild is running
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+
+        misses.increment();
+        synchronized (this) {
+            current = snapshot.get();
+            if (current != null) {
+                return current;
+            }
+            // A change committed while this first build reads may be missed; the dirty check below catches it
+            dirty.set(false);
+            Snapshot built = rebuild();
+            if (dirty.get()) {
+                scheduleRebuild();
+            }
+            return built;
+        }
+    }
+
+    /**
+     * Schedules a background rebuild after a committed change to an asset, serie or artist.
+     *
+     * @param event The change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!CATALOG_TYPES.contains(event.getEntityType())) {
+            return;
+        }
+        // Marked even before the first build, which re-checks the flag once it is done
+        dirty.set(true);
+        if (snapshot.get() != null) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Returns the hit, miss and rebuild counters of the cache.
+     *
+     * @return Current cache statistics
+     */
+    public CacheStats getStats() {
+        long count = rebuilds.get();
+        return new CacheStats(
+                hits.sum(),
+                misses.sum(),
+                count,
+                failedRebuilds.get(),
+                lastRebuildNanos.get() / 1_000_000.0,
+                count == 0 ? 0 : totalRebuildNanos.get() / 1_000_000.0 / count,
+                dirty.get() || rebuildScheduled.get()
+        );
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::drainChanges);
+        }
+    }
+
+    /**
+     * Rebuilds until no change arrived during the last rebuild, so bursts of writes collapse into few rebuilds.
+     * A failed rebuild is retried after a delay, as the changes it was for are not in the catalog yet.
+     */
+    private void drainChanges() {
+        boolean failed = false;
+        try {
+            while (dirty.getAndSet(false)) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the stale copy until the retry succeeds
+            dirty.set(true);
+            failed = true;
+            failedRebuilds.incrementAndGet();
+            log.warn("Public catalog rebuild failed, serving the previous copy and retrying in {} ms", rebuildRetryMillis, e);
+        } finally {
+            if (failed) {
+                // Still marked as scheduled, so changes arriving meanwhile wait for the retry instead of rebuilding at once
+                if (!rebuildExecutor.isShutdown()) {
+                    rebuildExecutor.schedule(this::drainChanges, rebuildRetryMillis, TimeUnit.MILLISECONDS);
+                }
+            } else {
+                rebuildScheduled.set(false);
+                if (dirty.get()) {
+                    scheduleRebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot and installs it unless a build started later was installed meanwhile,
+     * so a slow build can never replace a newer catalog.
+     */
+    private Snapshot rebuild() {
+        long start = System.nanoTime();
+        long buildVersion = version.incrementAndGet();
+        byte[] json = transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(serieService.getAllPublicSeries());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Snapshot rebuilt = new Snapshot(json, buildVersion);
+        Snapshot installed = snapshot.accumulateAndGet(rebuilt,
+                (current, candidate) -> current == null || current.version() < candidate.version() ? candidate : current);
+
+        long elapsed = System.nanoTime() - start;
+        rebuilds.incrementAndGet();
+        lastRebuildNanos.set(elapsed);
+        totalRebuildNanos.addAndGet(elapsed);
+        return installed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Address;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.ContactInformation;
+import com.aleix.XposeAPI.model.Serie;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an in-memory version per aggregate and turns it into strong ETags, so conditional
+ * GETs can be answered with 304 before any entity is loaded. Versions are bumped after every
+ * committed change and are prefixed with a per-boot id, so a restart never reuses an old tag.
+ */
+@Service
+public class ResourceVersionService {
+
+    // Artists are serialized with their contact information and address
+    private static final Set<Class<?>> CATALOG_TYPES = Set.of(Asset.class, Serie.class, Artist.class,
+            ContactInformation.class, Address.class);
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    /**
+     * Bumps the catalog version after a committed change to one of its entities.
+     *
+     * @param event The change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (CATALOG_TYPES.contains(event.getEntityType())) {
+            catalogVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the ETag of a catalog resource (assets, series and artists).
+     *
+     * @return Quoted strong ETag
+     */
+    public String catalogETag() {
+        return eTag(catalogVersion.get());
+    }
+
+    /**
+     * Builds a strong ETag from an externally tracked version, such as a snapshot version.
+     * Snapshots tag themselves so the ETag and the body always come from the same copy.
+     *
+     * @param version Version of the representation
+     * @return Quoted strong ETag
+     */
+    public String eTag(long version) {
+        return "\"" + bootId + "-" + version + "\"";
+    }
+}
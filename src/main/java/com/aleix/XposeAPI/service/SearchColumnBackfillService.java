@@ -0,0 +1,63 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.repository.SearchColumnRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the *_search columns of existing rows in line with TextNormalizer, which normalizes both
+ * the stored values and the filter terms. Migration 001 filled the columns with PostgreSQL's
+ * lower(unaccent(...)), which disagrees with it on letters such as ø, æ, œ, ł and ß, so filters
+ * would miss those rows. Only differing rows are written; once they match, a startup costs one scan.
+ */
+@Service
+public class SearchColumnBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchColumnBackfillService.class);
+
+    private static final Map<String, List<String>> SEARCHABLE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        SEARCHABLE_COLUMNS.put("asset", List.of("name", "type"));
+        SEARCHABLE_COLUMNS.put("artist", List.of("name", "surname", "artistic_name"));
+        SEARCHABLE_COLUMNS.put("serie", List.of("name"));
+        SEARCHABLE_COLUMNS.put("users", List.of("name", "surname", "email"));
+    }
+
+    private final SearchColumnRepository searchColumnRepository;
+
+    /**
+     * Constructor for SearchColumnBackfillService.
+     *
+     * @param searchColumnRepository Repository rewriting the search columns
+     */
+    public SearchColumnBackfillService(SearchColumnRepository searchColumnRepository) {
+        this.searchColumnRepository = searchColumnRepository;
+    }
+
+    /**
+     * Normalizes the search columns of every table once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Map.Entry<String, List<String>> table : SEARCHABLE_COLUMNS.entrySet()) {
+            try {
+                int rewritten = searchColumnRepository.normalizeAll(table.getKey(), table.getValue());
+                if (rewritten > 0) {
+                    log.info("Normalized the search columns of {} {} rows", rewritten, table.getKey());
+                }
+            } catch (DataAccessException e) {
+                // Filters keep working on the old values; the next startup tries again
+                log.warn("Could not normalize the search columns of {}", table.getKey(), e);
+            }
+        }
+    }
+}
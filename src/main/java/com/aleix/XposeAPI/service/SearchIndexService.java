@@ -0,0 +1,310 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.SearchResult;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.repository.ArtistRepository;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.SerieRepository;
+import com.aleix.XposeAPI.util.TextNormalizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the searchable text of assets, artists and series.
+ * Tokens are stored lower-cased and accent-stripped; each posting carries a weight
+ * that depends on the field the token came from. The index is built at startup and
+ * kept current from the entity change events published by the services.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private static final String ASSET = "asset";
+    private static final String ARTIST = "artist";
+    private static final String SERIE = "serie";
+
+    private record DocumentKey(String type, Long id) {
+    }
+
+    private record IndexedDocument(String title, Map<String, Float> termWeights) {
+    }
+
+    private final AssetRepository assetRepository;
+    private final ArtistRepository artistRepository;
+    private final SerieRepository serieRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<DocumentKey, Float>> postings = new TreeMap<>();
+    private final Map<DocumentKey, IndexedDocument> documents = new HashMap<>();
+    // Documents changed while a rebuild reads its snapshot, or null when no rebuild runs; guarded by the write lock
+    private Set<DocumentKey> changedDuringRebuild;
+
+    /**
+     * Constructor for SearchIndexService.
+     *
+     * @param assetRepository Repository for Asset entity operations
+     * @param artistRepository Repository for Artist entity operations
+     * @param serieRepository Repository for Serie entity operations
+     */
+    public SearchIndexService(AssetRepository assetRepository,
+                              ArtistRepository artistRepository,
+                              SerieRepository serieRepository) {
+        this.assetRepository = assetRepository;
+        this.artistRepository = artistRepository;
+        this.serieRepository = serieRepository;
+    }
+
+    /**
+     * Builds the whole index once the application has started.
+     * The entities are read outside the lock, so a change indexed meanwhile would be overwritten by
+     * an older snapshot; such documents are recorded and loaded again once the snapshot is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Asset> assets;
+        List<Artist> artists;
+        List<Serie> series;
+        try {
+            assets = assetRepository.findAll();
+            artists = artistRepository.findAll();
+            series = serieRepository.findAll();
+        } catch (RuntimeException e) {
+            // The index is left as it was; the incremental updates already hold every change
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        Set<DocumentKey> changed;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            assets.forEach(this::indexAsset);
+            artists.forEach(this::indexArtist);
+            series.forEach(this::indexSerie);
+        } finally {
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+
+        for (DocumentKey key : changed) {
+            reindex(key, load(key));
+        }
+    }
+
+    /**
+     * Re-indexes or removes a single document after a committed change.
+     *
+     * @param event The change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Class<?> type = event.getEntityType();
+        Long id = event.getEntityId();
+        boolean deleted = event.getChangeType() == EntityChangedEvent.ChangeType.DELETED;
+
+        DocumentKey key;
+        if (type == Asset.class) {
+            key = new DocumentKey(ASSET, id);
+        } else if (type == Artist.class) {
+            key = new DocumentKey(ARTIST, id);
+        } else if (type == Serie.class) {
+            key = new DocumentKey(SERIE, id);
+        } else {
+            return;
+        }
+        reindex(key, deleted ? null : load(key));
+    }
+
+    /**
+     * Searches the index and returns the best matching documents.
+     * Every query token must match a whole indexed token or the prefix of one;
+     * whole-token matches score higher, and rarer tokens score higher than common ones.
+     *
+     * @param query Free text query
+     * @param limit Maximum number of results
+     * @return Results ordered by descending score
+     */
+    public List<SearchResult> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<DocumentKey, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<DocumentKey, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Keep only documents matching every token so far
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((key, score) -> score + tokenScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<DocumentKey, Double>comparingByValue(Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(entry -> new SearchResult(entry.getKey().type(), entry.getKey().id(),
+                            documents.get(entry.getKey()).title(), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<DocumentKey, Double> scoreToken(String token) {
+        Map<DocumentKey, Double> scores = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<DocumentKey, Float>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            float factor = entry.getKey().equals(token) ? 1f : PREFIX_MATCH_FACTOR;
+            double idf = Math.log(1 + (double) documents.size() / entry.getValue().size());
+            entry.getValue().forEach((key, weight) -> scores.merge(key, weight * factor * idf, Math::max));
+        }
+        return scores;
+    }
+
+    private Object load(DocumentKey key) {
+        return switch (key.type()) {
+            case ASSET -> assetRepository.findById(key.id()).orElse(null);
+            case ARTIST -> artistRepository.findById(key.id()).orElse(null);
+            case SERIE -> serieRepository.findById(key.id()).orElse(null);
+            default -> null;
+        };
+    }
+
+    private void reindex(DocumentKey key, Object entity) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(key);
+            }
+            remove(key);
+            if (entity instanceof Asset asset) {
+                indexAsset(asset);
+            } else if (entity instanceof Artist artist) {
+                indexArtist(artist);
+            } else if (entity instanceof Serie serie) {
+                indexSerie(serie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexAsset(Asset asset) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, asset.getName(), 3f);
+        addField(weights, asset.getType(), 2f);
+        addField(weights, asset.getDescription(), 1f);
+        add(new DocumentKey(ASSET, asset.getId()), asset.getName(), weights);
+    }
+
+    private void indexArtist(Artist artist) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, artist.getArtisticName(), 3f);
+        addField(weights, artist.getName(), 2f);
+        addField(weights, artist.getSurname(), 2f);
+        addField(weights, artist.getAbout(), 1f);
+        String title = artist.getArtisticName() != null && !artist.getArtisticName().isBlank()
+                ? artist.getArtisticName()
+                : String.join(" ", nullToEmpty(artist.getName()), nullToEmpty(artist.getSurname())).trim();
+        add(new DocumentKey(ARTIST, artist.getId()), title, weights);
+    }
+
+    private void indexSerie(Serie serie) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, serie.getName(), 3f);
+        addField(weights, serie.getDescription(), 1f);
+        add(new DocumentKey(SERIE, serie.getId()), serie.getName(), weights);
+    }
+
+    private void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, fieldWeight, Float::sum);
+        }
+    }
+
+    private void add(DocumentKey key, String title, Map<String, Float> weights) {
+        documents.put(key, new IndexedDocument(title, weights));
+        weights.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(key, weight));
+    }
+
+    private void remove(DocumentKey key) {
+        IndexedDocument previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.termWeights().keySet()) {
+            Map<DocumentKey, Float> tokenPostings = postings.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.remove(key);
+                if (tokenPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(TextNormalizer.normalize(text))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+}
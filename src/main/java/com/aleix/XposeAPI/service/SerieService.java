@@ -1,16 +1,24 @@
 package com.aleix.XposeAPI.service;
 
-import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Asset;
 import com.aleix.XposeAPI.model.CollectionsPublicRS;
+import com.aleix.XposeAPI.model.CursorPage;
 import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.model.SerieSummary;
+import com.aleix.XposeAPI.repository.AssetRepository;
 import com.aleix.XposeAPI.repository.SerieRepository;
-import com.aleix.XposeAPI.specification.ArtistSpecifications;
 import com.aleix.XposeAPI.specification.SerieSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing Serie entities.
@@ -19,18 +27,27 @@ import java.util.Optional;
 @Service
 public class SerieService {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "name");
+
     private final SerieRepository serieRepository;
-    private final AssetsFromService assetsFromService;
+    private final AssetRepository assetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FetchPlanService fetchPlanService;
 
     /**
      * Constructor for SerieService.
      * 
      * @param serieRepository Repository for Serie entity operations
-     * @param assetsFromService Service for retrieving assets related to series
+     * @param assetRepository Repository for retrieving the assets of public series
+     * @param eventPublisher Publisher for serie change events
+     * @param fetchPlanService Service initializing the relations serialized with series and assets
      */
-    public SerieService(SerieRepository serieRepository, AssetsFromService assetsFromService) {
+    public SerieService(SerieRepository serieRepository, AssetRepository assetRepository,
+                        ApplicationEventPublisher eventPublisher, FetchPlanService fetchPlanService) {
         this.serieRepository = serieRepository;
-        this.assetsFromService = assetsFromService;
+        this.assetRepository = assetRepository;
+        this.eventPublisher = eventPublisher;
+        this.fetchPlanService = fetchPlanService;
     }
 
     /**
@@ -38,8 +55,19 @@ public class SerieService {
      * 
      * @return List of all Serie entities
      */
+    @Transactional(readOnly = true)
     public List<Serie> getAllSeries() {
-        return serieRepository.findAll();
+        return fetchPlanService.withArtists(serieRepository.findAll());
+    }
+
+    /**
+     * Retrieves all series as summaries, without description or artists.
+     * 
+     * @return List of SerieSummary projections
+     */
+    @Transactional(readOnly = true)
+    public List<SerieSummary> getSerieSummaries() {
+        return serieRepository.findAllSummaries();
     }
 
     /**
@@ -48,8 +76,9 @@ public class SerieService {
      * @param id The ID of the serie to retrieve
      * @return Optional containing the Serie if found, empty otherwise
      */
+    @Transactional(readOnly = true)
     public Optional<Serie> getSerieById(Long id) {
-        return serieRepository.findById(id);
+        return serieRepository.findById(id).map(fetchPlanService::withArtists);
     }
 
     /**
@@ -59,7 +88,9 @@ public class SerieService {
      * @return The saved Serie entity with generated ID
      */
     public Serie createSerie(Serie serie) {
-        return serieRepository.save(serie);
+        Serie savedSerie = serieRepository.save(serie);
+        eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, savedSerie.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedSerie;
     }
 
     /**
@@ -69,13 +100,13 @@ public class SerieService {
      * @param serieDetails The updated Serie entity data
      * @return Optional containing the updated Serie if found, empty otherwise
      */
+    @Transactional
     public Optional<Serie> updateSerie(Long id, Serie serieDetails) {
         return serieRepository.findById(id).map(serie -> {
-            serie.setName(serieDetails.getName());
-            serie.setDescription(serieDetails.getDescription());
-            serie.setActive(serieDetails.isActive());
-            serie.setArtists(serieDetails.getArtists());
-            return serieRepository.save(serie);
+            applyDetails(serie, serieDetails);
+            Serie savedSerie = serieRepository.save(serie);
+            eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedSerie;
         });
     }
 
@@ -88,11 +119,82 @@ public class SerieService {
     public boolean deleteSerie(Long id) {
         if (serieRepository.existsById(id)) {
             serieRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
     }
 
+    /**
+     * Creates several series at once. The inserts are sent in JDBC batches.
+     * 
+     * @param series The Serie entities to create
+     * @return The saved Serie entities with generated IDs, in request order
+     */
+    @Transactional
+    public List<Serie> createSeries(List<Serie> series) {
+        BatchRequests.checkSize(series);
+        List<Serie> savedSeries = serieRepository.saveAll(series);
+        for (Serie savedSerie : savedSeries) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, savedSerie.getId(), EntityChangedEvent.ChangeType.CREATED));
+        }
+        return savedSeries;
+    }
+
+    /**
+     * Updates several series at once, all or none. The updates are sent in JDBC batches.
+     * 
+     * @param seriesDetails The updated Serie entity data, each with the ID of the serie to update
+     * @return Optional containing the updated Series in request order, empty if any of them wasn't found
+     */
+    @Transactional
+    public Optional<List<Serie>> updateSeries(List<Serie> seriesDetails) {
+        Map<Long, Serie> series = new HashMap<>();
+        for (Serie serie : serieRepository.findAllById(BatchRequests.ids(seriesDetails, Serie::getId))) {
+            series.put(serie.getId(), serie);
+        }
+        List<Serie> updatedSeries = new ArrayList<>(seriesDetails.size());
+        for (Serie serieDetails : seriesDetails) {
+            Serie serie = series.get(serieDetails.getId());
+            if (serie == null) {
+                return Optional.empty();
+            }
+            applyDetails(serie, serieDetails);
+            updatedSeries.add(serie);
+        }
+        for (Serie serie : updatedSeries) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, serie.getId(), EntityChangedEvent.ChangeType.UPDATED));
+        }
+        return Optional.of(updatedSeries);
+    }
+
+    /**
+     * Deletes several series at once, all or none. The deletes are sent in JDBC batches.
+     * 
+     * @param ids The IDs of the series to delete
+     * @return true if the series were deleted, false if any of them wasn't found
+     */
+    @Transactional
+    public boolean deleteSeries(List<Long> ids) {
+        BatchRequests.checkSize(ids);
+        List<Serie> series = serieRepository.findAllById(ids);
+        if (series.size() != ids.stream().distinct().count()) {
+            return false;
+        }
+        serieRepository.deleteAll(series);
+        for (Serie serie : series) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Serie.class, serie.getId(), EntityChangedEvent.ChangeType.DELETED));
+        }
+        return true;
+    }
+
+    private void applyDetails(Serie serie, Serie serieDetails) {
+        serie.setName(serieDetails.getName());
+        serie.setDescription(serieDetails.getDescription());
+        serie.setActive(serieDetails.isActive());
+        serie.setArtists(serieDetails.getArtists());
+    }
+
     /**
      * Filters series based on provided criteria.
      * 
@@ -101,27 +203,82 @@ public class SerieService {
      * @param active Optional active status filter
      * @return List of Serie entities matching the filter criteria
      */
+    @Transactional(readOnly = true)
     public List<Serie> filterSeries (String name, String artistId, Boolean active){
-        return serieRepository.findAll(SerieSpecifications.filterSeries(name, artistId, active));
+        return fetchPlanService.withArtists(serieRepository.findAll(SerieSpecifications.filterSeries(name, artistId, active)));
     }
 
     /**
-     * Retrieves all active series with their associated assets for public display.
+     * Retrieves all active series with their active assets for public display.
+     * The assets of every serie are loaded in one query and grouped in memory;
+     * the first asset of each serie becomes its cover image.
      * 
      * @return List of CollectionsPublicRS containing series and their assets
      */
+    @Transactional(readOnly = true)
     public List<CollectionsPublicRS> getAllPublicSeries() {
         List<CollectionsPublicRS> collectionsPublicRS = new ArrayList<>();
-        List<Serie> series = serieRepository.findByActiveTrue();
+        Map<Long, CollectionsPublicRS> collectionsBySerie = new HashMap<>();
+        List<Asset> publicAssets = new ArrayList<>();
 
-        for (Serie serie : series) {
+        for (Serie serie : serieRepository.findByActiveTrue()) {
             CollectionsPublicRS collectionsPublicRs = new CollectionsPublicRS();
             collectionsPublicRs.setSerie(serie);
-            collectionsPublicRs.setAssets(assetsFromService.getAllAssetsFromSerie(serie.getId()));
-            collectionsPublicRs.setImageUrl(collectionsPublicRs.getAssets().getFirst().getUrl());
+            collectionsPublicRs.setAssets(new ArrayList<>());
             collectionsPublicRS.add(collectionsPublicRs);
+            collectionsBySerie.put(serie.getId(), collectionsPublicRs);
+        }
+
+        for (Object[] row : assetRepository.findActiveAssetsOfActiveSeries()) {
+            CollectionsPublicRS collectionsPublicRs = collectionsBySerie.get((Long) row[0]);
+            if (collectionsPublicRs == null) {
+                // Serie activated between the two queries; it will show up on the next request
+                continue;
+            }
+            Asset asset = (Asset) row[1];
+            if (collectionsPublicRs.getAssets().isEmpty()) {
+                collectionsPublicRs.setImageUrl(asset.getUrl());
+                collectionsPublicRs.setThumbnailUrl(asset.getThumbnailUrl() != null ? asset.getThumbnailUrl() : asset.getUrl());
+            }
+            collectionsPublicRs.getAssets().add(asset);
+            publicAssets.add(asset);
         }
 
+        fetchPlanService.withArtists(collectionsPublicRS.stream().map(CollectionsPublicRS::getSerie).toList());
+        fetchPlanService.withRelations(publicAssets);
         return collectionsPublicRS;
     }
+
+    /**
+     * Retrieves one window of series using keyset pagination.
+     * 
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of series to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Serie entities with the cursor of the next window
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Serie> getSeriesPage(String after, int limit, String sort) {
+        CursorPage<Serie> page = KeysetPagination.fetch(serieRepository, null, sort, SORT_KEYS, after, limit);
+        fetchPlanService.withArtists(page.getItems());
+        return page;
+    }
+
+    /**
+     * Filters series based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param artistId Optional artist ID filter
+     * @param active Optional active status filter
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of series to return
+     * @param sort Sort key, one of id or name
+     * @return Window of Serie entities matching the filter criteria
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Serie> filterSeriesPage(String name, String artistId, Boolean active, String after, int limit, String sort) {
+        CursorPage<Serie> page = KeysetPagination.fetch(serieRepository, SerieSpecifications.filterSeries(name, artistId, active), sort, SORT_KEYS, after, limit);
+        fetchPlanService.withArtists(page.getItems());
+        return page;
+    }
 }
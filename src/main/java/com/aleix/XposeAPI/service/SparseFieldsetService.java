@@ -0,0 +1,245 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.repository.ArtistRepository;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.SerieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves sparse fieldsets ({@code ?fields=}) of assets, series and artists.
+ * Requested columns are selected through a tuple query, so unrequested columns are never read;
+ * a relation is loaded with one extra query only when it is part of the requested fields.
+ * The id is always returned, since clients need it to address the full entity.
+ */
+@Service
+public class SparseFieldsetService {
+
+    private static final Set<String> ASSET_COLUMNS = Set.of("id", "name", "description", "type", "comment", "url", "thumbnailUrl", "mediumUrl", "largeUrl", "active");
+    private static final Set<String> ASSET_RELATIONS = Set.of("authors", "series");
+    private static final Set<String> SERIE_COLUMNS = Set.of("id", "name", "description", "active");
+    private static final Set<String> SERIE_RELATIONS = Set.of("artists");
+    private static final Set<String> ARTIST_COLUMNS = Set.of("id", "name", "surname", "artisticName", "about");
+    private static final Set<String> ARTIST_RELATIONS = Set.of("contactInformation");
+
+    private final EntityManager entityManager;
+    private final AssetRepository assetRepository;
+    private final SerieRepository serieRepository;
+    private final ArtistRepository artistRepository;
+    private final FetchPlanService fetchPlanService;
+
+    /**
+     * Constructor for SparseFieldsetService.
+     * 
+     * @param entityManager Entity manager used to build the tuple queries
+     * @param assetRepository Repository for Asset entity operations
+     * @param serieRepository Repository for Serie entity operations
+     * @param artistRepository Repository for Artist entity operations
+     * @param fetchPlanService Service initializing the relations of the series returned with assets
+     */
+    public SparseFieldsetService(EntityManager entityManager, AssetRepository assetRepository,
+                                 SerieRepository serieRepository, ArtistRepository artistRepository,
+                                 FetchPlanService fetchPlanService) {
+        this.entityManager = entityManager;
+        this.assetRepository = assetRepository;
+        this.serieRepository = serieRepository;
+        this.artistRepository = artistRepository;
+        this.fetchPlanService = fetchPlanService;
+    }
+
+    /**
+     * Retrieves the requested fields of the assets matching a filter.
+     * 
+     * @param fields Comma-separated field names
+     * @param filter Filter to apply, or null for every asset
+     * @return One map per asset, keyed by field name, ordered by id
+     * @throws ResponseStatusException 400 if a field is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAssets(String fields, Specification<Asset> filter) {
+        Set<String> requested = parse(fields, ASSET_COLUMNS, ASSET_RELATIONS);
+        List<Map<String, Object>> rows = select(Asset.class, columns(requested, ASSET_COLUMNS), filter);
+        if (requested.contains("authors")) {
+            attach(rows, "authors", ids -> assetRepository.fetchAuthorsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Asset::getId, Asset::getAuthors, (a, b) -> a)));
+        }
+        if (requested.contains("series")) {
+            attach(rows, "series", ids -> {
+                List<Asset> assets = assetRepository.fetchSeriesByIdIn(ids);
+                // Series are serialized with their artists, which must be loaded before the transaction ends
+                fetchPlanService.withArtists(assets.stream().flatMap(asset -> asset.getSeries().stream()).toList());
+                return assets.stream().collect(Collectors.toMap(Asset::getId, Asset::getSeries, (a, b) -> a));
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the requested fields of one asset.
+     * 
+     * @param id The ID of the asset
+     * @param fields Comma-separated field names
+     * @return Optional containing the field map if the asset exists, empty otherwise
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getAsset(Long id, String fields) {
+        return getAssets(fields, byId(id)).stream().findFirst();
+    }
+
+    /**
+     * Retrieves the requested fields of the series matching a filter.
+     * 
+     * @param fields Comma-separated field names
+     * @param filter Filter to apply, or null for every serie
+     * @return One map per serie, keyed by field name, ordered by id
+     * @throws ResponseStatusException 400 if a field is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getSeries(String fields, Specification<Serie> filter) {
+        Set<String> requested = parse(fields, SERIE_COLUMNS, SERIE_RELATIONS);
+        List<Map<String, Object>> rows = select(Serie.class, columns(requested, SERIE_COLUMNS), filter);
+        if (requested.contains("artists")) {
+            attach(rows, "artists", ids -> serieRepository.fetchArtistsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Serie::getId, Serie::getArtists, (a, b) -> a)));
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the requested fields of one serie.
+     * 
+     * @param id The ID of the serie
+     * @param fields Comma-separated field names
+     * @return Optional containing the field map if the serie exists, empty otherwise
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getSerie(Long id, String fields) {
+        return getSeries(fields, byId(id)).stream().findFirst();
+    }
+
+    /**
+     * Retrieves the requested fields of the artists matching a filter.
+     * 
+     * @param fields Comma-separated field names
+     * @param filter Filter to apply, or null for every artist
+     * @return One map per artist, keyed by field name, ordered by id
+     * @throws ResponseStatusException 400 if a field is unknown
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getArtists(String fields, Specification<Artist> filter) {
+        Set<String> requested = parse(fields, ARTIST_COLUMNS, ARTIST_RELATIONS);
+        List<Map<String, Object>> rows = select(Artist.class, columns(requested, ARTIST_COLUMNS), filter);
+        if (requested.contains("contactInformation")) {
+            attach(rows, "contactInformation", ids -> {
+                // toMap rejects null values, and an artist may have no contact information
+                Map<Long, Object> contacts = new HashMap<>();
+                artistRepository.fetchContactInformationByIdIn(ids)
+                        .forEach(artist -> contacts.put(artist.getId(), artist.getContactInformation()));
+                return contacts;
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the requested fields of one artist.
+     * 
+     * @param id The ID of the artist
+     * @param fields Comma-separated field names
+     * @return Optional containing the field map if the artist exists, empty otherwise
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getArtist(Long id, String fields) {
+        return getArtists(fields, byId(id)).stream().findFirst();
+    }
+
+    private static Set<String> parse(String fields, Set<String> columns, Set<String> relations) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!columns.contains(name) && !relations.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        return requested;
+    }
+
+    private static List<String> columns(Set<String> requested, Set<String> columns) {
+        return requested.stream().filter(columns::contains).toList();
+    }
+
+    private static <T> Specification<T> byId(Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
+
+    private <T> List<Map<String, Object>> select(Class<T> type, List<String> columns, Specification<T> filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        query.multiselect(selections).orderBy(criteriaBuilder.asc(root.get("id")));
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : columns) {
+                row.put(column, tuple.get(column));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Loads one relation for every row with a single query and adds it under {@code field}.
+     */
+    private static void attach(List<Map<String, Object>> rows, String field,
+                               Function<List<Long>, Map<Long, ?>> loader) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, ?> values = loader.apply(rows.stream().map(row -> (Long) row.get("id")).toList());
+        for (Map<String, Object> row : rows) {
+            row.put(field, values.get((Long) row.get("id")));
+        }
+    }
+}
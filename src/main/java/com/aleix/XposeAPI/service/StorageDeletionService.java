@@ -0,0 +1,354 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.AssetFiles;
+import com.aleix.XposeAPI.model.StorageDeletion;
+import com.aleix.XposeAPI.repository.AssetRepository;
+import com.aleix.XposeAPI.repository.StorageDeletionRepository;
+import com.aleix.XposeAPI.repository.StorageLockRepository;
+import com.aleix.XposeAPI.storage.ObjectStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deletes stored objects through a transactional outbox, so removing a row never waits on
+ * object storage and a storage outage never blocks or rolls back a delete.
+ * The deleting transaction records the objects to remove; a scheduled worker claims due records
+ * in batches, removes their objects with multi-object deletes, and retries failures with
+ * exponential backoff. Claims use SKIP LOCKED, so several instances can drain side by side.
+ * Objects are shared by content, so the references are checked again before deleting, while
+ * holding the file locks an upload reusing the object holds until its asset commits.
+ */
+@Service
+public class StorageDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageDeletionService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+    // Largest multi-object delete S3 accepts, also used to bound the IN lists of the reference check
+    private static final int MULTI_DELETE_LIMIT = 1000;
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final AssetRepository assetRepository;
+    private final StorageLockRepository storageLockRepository;
+    private final FileUploadService fileUploadService;
+    private final ObjectStorage objectStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final int batchSize;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final int parallelChunks;
+
+    /**
+     * Constructor for StorageDeletionService.
+     * 
+     * @param storageDeletionRepository Repository of the deletion outbox
+     * @param assetRepository Repository for Asset entity operations, used to recheck references
+     * @param storageLockRepository Repository locking the files while their references are checked
+     * @param fileUploadService Service mapping asset URLs to stored objects
+     * @param objectStorage Storage backend the objects are deleted from
+     * @param transactionManager Transaction manager of the drain batches
+     * @param bucketName Bucket holding the assets
+     * @param batchSize Number of deletions claimed per batch
+     * @param backoffBaseMillis Delay before the first retry of a failed deletion
+     * @param backoffMaxMillis Longest delay between retries
+     * @param parallelChunks Number of multi-object deletes run at once by removeNow
+     */
+    public StorageDeletionService(StorageDeletionRepository storageDeletionRepository, AssetRepository assetRepository,
+                                  StorageLockRepository storageLockRepository, FileUploadService fileUploadService,
+                                  ObjectStorage objectStorage,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${minio.bucket}") String bucketName,
+                                  @Value("${storage.outbox.batch-size:100}") int batchSize,
+                                  @Value("${storage.outbox.backoff-base-ms:2000}") long backoffBaseMillis,
+                                  @Value("${storage.outbox.backoff-max-ms:900000}") long backoffMaxMillis,
+                                  @Value("${storage.cascade.parallel-chunks:4}") int parallelChunks) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.assetRepository = assetRepository;
+        this.storageLockRepository = storageLockRepository;
+        this.fileUploadService = fileUploadService;
+        this.objectStorage = objectStorage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bucketName = bucketName;
+        this.batchSize = batchSize;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.parallelChunks = parallelChunks;
+    }
+
+    /**
+     * Records the file of an asset and its derivatives for deletion. Must be called in the
+     * transaction that deletes the asset or replaces its file, before the URLs change, so the
+     * records commit or roll back with it. Files outside the asset bucket are left alone.
+     * 
+     * @param asset The asset being deleted, or whose file is being replaced
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAssetFiles(Asset asset) {
+        storageDeletionRepository.saveAll(deletionsOf(asset.getUrl(), asset.getThumbnailUrl(), asset.getMediumUrl(), asset.getLargeUrl()));
+    }
+
+    /**
+     * Records the files of many assets for deletion, due only once notBefore has passed.
+     * Must be called in the transaction that deletes the assets. The caller is expected to
+     * remove the files itself with removeNow; the delay leaves the records to the scheduled
+     * worker only if that never happens.
+     * 
+     * @param assets The files of the assets being deleted
+     * @param notBefore When the scheduled worker may pick the records up
+     * @return The saved records
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<StorageDeletion> enqueueAssetFiles(Collection<AssetFiles> assets, Instant notBefore) {
+        List<StorageDeletion> deletions = new ArrayList<>();
+        for (AssetFiles files : assets) {
+            deletions.addAll(deletionsOf(files.url(), files.thumbnailUrl(), files.mediumUrl(), files.largeUrl()));
+        }
+        for (StorageDeletion deletion : deletions) {
+            deletion.setNextAttemptAt(notBefore);
+        }
+        return storageDeletionRepository.saveAll(deletions);
+    }
+
+    /**
+     * Records a stored file for deletion unless an asset still uses it. Files are content-addressed,
+     * so an object may be shared by several assets; the scheduled worker checks the reference
+     * again before deleting, in case the same content is uploaded meanwhile.
+     * 
+     * @param url The public URL of the file, or its object name in the asset bucket
+     * @return true if the file was recorded for deletion, false if an asset still uses it
+     */
+    @Transactional
+    public boolean enqueueUnreferencedFile(String url) {
+        String objectName = fileUploadService.assetObjectName(url).orElse(url);
+        String fileUrl = fileUploadService.assetUrl(objectName);
+        storageLockRepository.lock(List.of(fileUrl));
+        if (assetRepository.isFileReferenced(fileUrl)) {
+            return false;
+        }
+        storageDeletionRepository.save(new StorageDeletion(bucketName, objectName, fileUrl));
+        return true;
+    }
+
+    private List<StorageDeletion> deletionsOf(String url, String... derivativeUrls) {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(url);
+        for (String derivativeUrl : derivativeUrls) {
+            if (derivativeUrl != null) {
+                urls.add(derivativeUrl);
+            }
+        }
+        // References are counted by exact URL, so the record keeps the form assets store it in
+        String referenceUrl = fileUploadService.assetObjectName(url).map(fileUploadService::assetUrl).orElse(url);
+        List<StorageDeletion> deletions = new ArrayList<>();
+        for (String fileUrl : urls) {
+            fileUploadService.assetObjectName(fileUrl)
+                    .ifPresent(objectName -> deletions.add(new StorageDeletion(bucketName, objectName, referenceUrl)));
+        }
+        return deletions;
+    }
+
+    /**
+     * Removes the objects of committed deletion records right away, instead of waiting for the
+     * scheduled worker. Objects go in multi-object deletes of up to 1000 names, several chunks
+     * at a time on virtual threads, each chunk in its own transaction holding the locks of its files.
+     * Records whose object was removed or is in use again are deleted; the others stay in the
+     * outbox and are retried by the scheduled worker once due.
+     * 
+     * @param deletions Records returned by enqueueAssetFiles, after their transaction committed
+     * @param job Job the progress is reported to, one item per record
+     */
+    public void removeNow(List<StorageDeletion> deletions, JobRegistry.Job job) {
+        Map<String, List<StorageDeletion>> byBucket = new LinkedHashMap<>();
+        for (StorageDeletion deletion : deletions) {
+            byBucket.computeIfAbsent(deletion.getBucket(), bucket -> new ArrayList<>()).add(deletion);
+        }
+
+        Semaphore permits = new Semaphore(parallelChunks);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, List<StorageDeletion>> group : byBucket.entrySet()) {
+                List<StorageDeletion> bucketDeletions = group.getValue();
+                for (int from = 0; from < bucketDeletions.size(); from += MULTI_DELETE_LIMIT) {
+                    List<StorageDeletion> chunk = bucketDeletions.subList(from, Math.min(bucketDeletions.size(), from + MULTI_DELETE_LIMIT));
+                    executor.execute(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            removeChunk(group.getKey(), chunk, job);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private void removeChunk(String bucket, List<StorageDeletion> chunk, JobRegistry.Job job) {
+        int failed;
+        try {
+            failed = transactionTemplate.execute(status -> removeChunkLocked(bucket, chunk));
+        } catch (RuntimeException e) {
+            // Rolled back records stay in the outbox; removing an object twice is harmless
+            log.warn("Could not remove a chunk of {} objects in {}, leaving it to the outbox worker", chunk.size(), bucket, e);
+            failed = chunk.size();
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i < failed) {
+                job.recordFailed();
+            } else {
+                job.recordProcessed();
+            }
+        }
+    }
+
+    /**
+     * Deletes the unreferenced objects of a chunk and the records that are done.
+     *
+     * @return Number of records left to the outbox worker
+     */
+    private int removeChunkLocked(String bucket, List<StorageDeletion> chunk) {
+        List<String> referenceUrls = chunk.stream().map(StorageDeletion::getReferenceUrl)
+                .filter(url -> url != null).distinct().toList();
+        // Uploads reusing these objects hold the same locks until their asset commits
+        storageLockRepository.lock(referenceUrls);
+        Set<String> referenced = referenceUrls.isEmpty()
+                ? Set.of()
+                : new HashSet<>(assetRepository.findReferencedUrls(referenceUrls));
+
+        List<Long> done = new ArrayList<>();
+        List<StorageDeletion> unused = new ArrayList<>();
+        for (StorageDeletion deletion : chunk) {
+            if (deletion.getReferenceUrl() != null && referenced.contains(deletion.getReferenceUrl())) {
+                // The same content was uploaded again since; the object is in use
+                done.add(deletion.getId());
+            } else {
+                unused.add(deletion);
+            }
+        }
+
+        List<String> objectNames = unused.stream().map(StorageDeletion::getObjectName).toList();
+        Map<String, String> failures;
+        try {
+            failures = objectNames.isEmpty() ? Map.of() : objectStorage.deleteAll(bucket, objectNames);
+        } catch (Exception e) {
+            failures = new HashMap<>();
+            for (String objectName : objectNames) {
+                failures.put(objectName, e.toString());
+            }
+        }
+        for (StorageDeletion deletion : unused) {
+            if (!failures.containsKey(deletion.getObjectName())) {
+                done.add(deletion.getId());
+            }
+        }
+        if (!failures.isEmpty()) {
+            log.warn("Could not delete {} of {} objects in {}, leaving them to the outbox worker",
+                    failures.size(), objectNames.size(), bucket);
+        }
+        storageDeletionRepository.deleteAllByIdInBatch(done);
+        return chunk.size() - done.size();
+    }
+
+    /**
+     * Drains the due deletions, batch after batch, until none is left.
+     */
+    @Scheduled(initialDelayString = "${storage.outbox.drain-interval-ms:5000}",
+            fixedDelayString = "${storage.outbox.drain-interval-ms:5000}")
+    public void drain() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> drainBatch());
+            } while (claimed != null && claimed == batchSize);
+        } catch (RuntimeException e) {
+            // The claimed batch rolled back and stays due; the next run picks it up again
+            log.warn("Storage deletion outbox drain failed", e);
+        }
+    }
+
+    private int drainBatch() {
+        Instant now = Instant.now();
+        List<StorageDeletion> due = storageDeletionRepository.claimDue(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // Uploads reusing these objects hold the same locks until their asset commits, so the check below sees them
+        storageLockRepository.lock(due.stream().map(StorageDeletion::getReferenceUrl).toList());
+
+        List<StorageDeletion> done = new ArrayList<>();
+        Map<String, Boolean> referenced = new HashMap<>();
+        Map<String, List<StorageDeletion>> byBucket = new LinkedHashMap<>();
+        for (StorageDeletion deletion : due) {
+            String referenceUrl = deletion.getReferenceUrl();
+            if (referenceUrl != null && referenced.computeIfAbsent(referenceUrl, url -> assetRepository.countByUrl(url) > 0)) {
+                // The same content was uploaded again since; the object is in use
+                done.add(deletion);
+                continue;
+            }
+            byBucket.computeIfAbsent(deletion.getBucket(), bucket -> new ArrayList<>()).add(deletion);
+        }
+
+        for (Map.Entry<String, List<StorageDeletion>> group : byBucket.entrySet()) {
+            List<String> objectNames = group.getValue().stream().map(StorageDeletion::getObjectName).toList();
+            Map<String, String> failures;
+            try {
+                failures = objectStorage.deleteAll(group.getKey(), objectNames);
+            } catch (Exception e) {
+                failures = new HashMap<>();
+                for (String objectName : objectNames) {
+                    failures.put(objectName, e.toString());
+                }
+            }
+            for (StorageDeletion deletion : group.getValue()) {
+                String error = failures.get(deletion.getObjectName());
+                if (error == null) {
+                    done.add(deletion);
+                } else {
+                    reschedule(deletion, error, now);
+                }
+            }
+        }
+
+        storageDeletionRepository.deleteAllInBatch(done);
+        return due.size();
+    }
+
+    private void reschedule(StorageDeletion deletion, String error, Instant now) {
+        int attempts = deletion.getAttempts() + 1;
+        long delay = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempts - 1, MAX_BACKOFF_EXPONENT));
+        // Jitter spreads the retries of a batch that failed together
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        deletion.setAttempts(attempts);
+        deletion.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
+        deletion.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        log.warn("Could not delete {}/{} (attempt {}), retrying in {} ms: {}",
+                deletion.getBucket(), deletion.getObjectName(), attempts, delay, error);
+    }
+}
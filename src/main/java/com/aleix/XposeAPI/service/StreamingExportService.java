@@ -0,0 +1,138 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams large lists as newline-delimited JSON (one entity per line) in constant memory.
+ * Rows are read through a JDBC cursor with a bounded fetch size inside a read-only transaction;
+ * every chunk is initialized, written, flushed and then cleared from the persistence context,
+ * so neither the heap nor the time to first byte grows with the number of rows.
+ */
+@Service
+public class StreamingExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final FetchPlanService fetchPlanService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for StreamingExportService.
+     * 
+     * @param entityManager Entity manager used for the cursor queries
+     * @param objectMapper Mapper used to serialize each row
+     * @param fetchPlanService Service initializing the relations of each asset chunk
+     * @param transactionManager Transaction manager for the read-only streaming transaction
+     */
+    public StreamingExportService(EntityManager entityManager, ObjectMapper objectMapper,
+                                  FetchPlanService fetchPlanService, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchPlanService = fetchPlanService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Streams the assets matching a filter, with their authors and series.
+     * 
+     * @param filter Filter to apply, or null for every asset
+     * @return Response body writing one asset per line, ordered by id
+     */
+    public StreamingResponseBody streamAssets(Specification<Asset> filter) {
+        return stream(Asset.class, filter, fetchPlanService::withRelations);
+    }
+
+    /**
+     * Streams the users matching a filter.
+     * 
+     * @param filter Filter to apply, or null for every user
+     * @return Response body writing one user per line, ordered by id
+     */
+    public StreamingResponseBody streamUsers(Specification<User> filter) {
+        return stream(User.class, filter, chunk -> { });
+    }
+
+    private <T> StreamingResponseBody stream(Class<T> type, Specification<T> filter, Consumer<List<T>> initializer) {
+        // Runs on the async response thread, so the transaction is opened there and not in the controller
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                write(type, filter, initializer, outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void write(Class<T> type, Specification<T> filter, Consumer<List<T>> initializer,
+                           OutputStream outputStream) throws IOException {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root).orderBy(criteriaBuilder.asc(root.get("id")));
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        // The servlet container owns the response stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<T> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, CHUNK_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (T row : (Iterable<T>) rows::iterator) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, initializer, generator);
+                }
+            }
+            writeChunk(chunk, initializer, generator);
+        }
+        generator.close();
+    }
+
+    private <T> void writeChunk(List<T> chunk, Consumer<List<T>> initializer, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        initializer.accept(chunk);
+        for (T row : chunk) {
+            generator.writeObject(row);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        chunk.clear();
+        // Detach the written rows so the persistence context does not grow with the result
+        entityManager.clear();
+    }
+}
@@ -1,11 +1,21 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.CursorPage;
+import com.aleix.XposeAPI.model.LoginResponse;
 import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.model.UserSummary;
 import com.aleix.XposeAPI.repository.UserRepository;
 import com.aleix.XposeAPI.specification.UserSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -15,15 +25,32 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "surname", "email");
+
+    // Keeps the upgrade's database write off the small hashing pool
+    private static final Executor UPGRADE_EXECUTOR = runnable -> Thread.ofVirtual().name("password-upgrade").start(runnable);
+
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordService passwordService;
+    private final JwtService jwtService;
 
     /**
      * Constructor for UserService.
      * 
      * @param userRepository Repository for User entity operations
+     * @param eventPublisher Publisher notifying listeners of committed user changes
+     * @param passwordService Service hashing and verifying passwords
+     * @param jwtService Service issuing the login tokens
      */
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                       PasswordService passwordService, JwtService jwtService) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.passwordService = passwordService;
+        this.jwtService = jwtService;
     }
 
     /**
@@ -35,6 +62,15 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Retrieves all users as summaries, without the password hash.
+     * 
+     * @return List of UserSummary projections
+     */
+    public List<UserSummary> getUserSummaries() {
+        return userRepository.findAllSummaries();
+    }
+
     /**
      * Retrieves a specific user by its ID.
      * 
@@ -46,17 +82,23 @@ public class UserService {
     }
 
     /**
-     * Creates a new user in the database.
+     * Creates a new user in the database. The password is stored as a BCrypt hash.
      * 
-     * @param user The User entity to create
+     * @param user The User entity to create, with the raw password in passwordHash
      * @return The saved User entity with generated ID
      */
     public User createUser(User user) {
-        return userRepository.save(user);
+        if (!passwordService.isHashed(user.getPasswordHash())) {
+            user.setPasswordHash(passwordService.hash(user.getPasswordHash()));
+        }
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new EntityChangedEvent(User.class, savedUser.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedUser;
     }
 
     /**
      * Updates an existing user with new details.
+     * A blank password keeps the current one; any other value is stored as a BCrypt hash.
      * 
      * @param id The ID of the user to update
      * @param userDetails The updated User entity data
@@ -66,10 +108,15 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setUsername(userDetails.getUsername());
             user.setEmail(userDetails.getEmail());
-            user.setPasswordHash(userDetails.getPasswordHash());
+            String password = userDetails.getPasswordHash();
+            if (password != null && !password.isBlank()) {
+                user.setPasswordHash(passwordService.isHashed(password) ? password : passwordService.hash(password));
+            }
             user.setName(userDetails.getName());
             user.setSurname(userDetails.getSurname());
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new EntityChangedEvent(User.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedUser;
         });
     }
 
@@ -82,20 +129,64 @@ public class UserService {
     public boolean deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(User.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
     }
 
     /**
-     * Authenticates a user with email and password.
+     * Authenticates a user with email and password and issues a signed token.
+     * The password check runs on the bounded hashing executor, not on the calling thread.
+     * A password still stored in plain text is upgraded to a BCrypt hash on its first successful login.
      * 
      * @param email The email of the user
      * @param password The password of the user
-     * @return Optional containing the User if authentication is successful, empty otherwise
+     * @return Future completing with the token and user if authentication is successful, empty otherwise
      */
-    public Optional<User> loginUser(String email, String password) {
-        return userRepository.findByEmailAndPasswordHash(email, password);
+    public CompletableFuture<Optional<LoginResponse>> loginUser(String email, String password) {
+        Optional<User> user = email == null ? Optional.empty() : userRepository.findByEmail(email);
+        String storedPassword = user.map(User::getPasswordHash).orElse(null);
+
+        return passwordService.matches(password, storedPassword).thenCompose(matches -> {
+            if (!matches || user.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.<LoginResponse>empty());
+            }
+            User loggedUser = user.get();
+            CompletableFuture<Void> upgrade = passwordService.isHashed(storedPassword)
+                    ? CompletableFuture.completedFuture(null)
+                    : upgradePassword(loggedUser.getId(), storedPassword, password);
+            return upgrade.thenApply(ignored -> Optional.of(toLoginResponse(loggedUser)));
+        });
+    }
+
+    /**
+     * Stores the hash of a legacy plain password with a targeted update that only applies while the
+     * plain value is still stored, so a password or profile changed meanwhile is never overwritten.
+     */
+    private CompletableFuture<Void> upgradePassword(Long userId, String storedPassword, String password) {
+        try {
+            return passwordService.hashAsync(password)
+                    .thenAcceptAsync(hash -> {
+                        if (userRepository.upgradePasswordHash(userId, storedPassword, hash) == 0) {
+                            log.info("Password of user {} changed during login, hash upgrade skipped", userId);
+                        }
+                    }, UPGRADE_EXECUTOR)
+                    .exceptionally(e -> {
+                        // The login itself succeeded; the upgrade is retried on the next one
+                        log.warn("Could not upgrade the password hash of user {}", userId, e);
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade the password hash of user {}", userId, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private LoginResponse toLoginResponse(User user) {
+        JwtService.IssuedToken issued = jwtService.issue(user);
+        return new LoginResponse(issued.token(), issued.expiresAt(), new UserSummary(user.getId(), user.getName(),
+                user.getSurname(), user.getUsername(), user.getEmail(), user.getCreatedAt()));
     }
 
     /**
@@ -109,4 +200,31 @@ public class UserService {
     public List<User> filterUsers (String name, String surname, String email){
         return userRepository.findAll(UserSpecifications.filterUsers(name, surname, email));
     }
+
+    /**
+     * Retrieves one window of users using keyset pagination.
+     * 
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of users to return
+     * @param sort Sort key, one of id, name, surname or email
+     * @return Window of User entities with the cursor of the next window
+     */
+    public CursorPage<User> getUsersPage(String after, int limit, String sort) {
+        return KeysetPagination.fetch(userRepository, null, sort, SORT_KEYS, after, limit);
+    }
+
+    /**
+     * Filters users based on provided criteria, one keyset window at a time.
+     * 
+     * @param name Optional name filter
+     * @param surname Optional surname filter
+     * @param email Optional email filter
+     * @param after Opaque cursor from the previous window, or null for the first one
+     * @param limit Maximum number of users to return
+     * @param sort Sort key, one of id, name, surname or email
+     * @return Window of User entities matching the filter criteria
+     */
+    public CursorPage<User> filterUsersPage(String name, String surname, String email, String after, int limit, String sort) {
+        return KeysetPagination.fetch(userRepository, UserSpecifications.filterUsers(name, surname, email), sort, SORT_KEYS, after, limit);
+    }
 }
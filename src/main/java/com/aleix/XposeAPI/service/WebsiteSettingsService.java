@@ -1,19 +1,42 @@
 package com.aleix.XposeAPI.service;
 
+import com.aleix.XposeAPI.event.EntityChangedEvent;
+import com.aleix.XposeAPI.model.Address;
+import com.aleix.XposeAPI.model.ContactInformation;
 import com.aleix.XposeAPI.model.WebsiteSettings;
 import com.aleix.XposeAPI.repository.WebsiteSettingsRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class WebsiteSettingsService {
 
+    private static final Set<Class<?>> SETTINGS_TYPES = Set.of(WebsiteSettings.class,
+            ContactInformation.class, Address.class);
+
+    /**
+     * Immutable snapshot of the active settings and the version it was loaded as.
+     * The entity is never modified after it is loaded.
+     */
+    public record ActiveSettings(Optional<WebsiteSettings> settings, long version) {
+    }
+
     private final WebsiteSettingsRepository websiteSettingsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<ActiveSettings> activeSettings = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
 
-    public WebsiteSettingsService(WebsiteSettingsRepository websiteSettingsRepository) {
+    public WebsiteSettingsService(WebsiteSettingsRepository websiteSettingsRepository,
+                                  ApplicationEventPublisher eventPublisher) {
         this.websiteSettingsRepository = websiteSettingsRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -25,6 +48,40 @@ public class WebsiteSettingsService {
         return websiteSettingsRepository.findAll();
     }
 
+    /**
+     * Retrieves the active website settings, i.e. the most recently added entry.
+     * Served from an in-memory snapshot; the database is only queried before the first load.
+     *
+     * @return the current {@link ActiveSettings} snapshot, whose settings are empty if no entry exists
+     */
+    public ActiveSettings getActiveSettings() {
+        ActiveSettings current = activeSettings.get();
+        return current != null ? current : reloadActiveSettings();
+    }
+
+    /**
+     * Reloads the active settings snapshot after a committed change to the settings or their contact details.
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (SETTINGS_TYPES.contains(event.getEntityType())) {
+            reloadActiveSettings();
+        }
+    }
+
+    /**
+     * Loads the active settings with one ordered, limited query and swaps the snapshot.
+     * Synchronized so a slower, older reload can never overwrite a newer one.
+     */
+    private synchronized ActiveSettings reloadActiveSettings() {
+        ActiveSettings reloaded = new ActiveSettings(websiteSettingsRepository.findFirstByOrderByIdDesc(),
+                version.incrementAndGet());
+        activeSettings.set(reloaded);
+        return reloaded;
+    }
+
     /**
      * Retrieves a website settings entry by its ID.
      *
@@ -43,7 +100,9 @@ public class WebsiteSettingsService {
      * @return the saved {@link WebsiteSettings} object
      */
     public WebsiteSettings createWebsiteSettings(WebsiteSettings websiteSettings) {
-        return websiteSettingsRepository.save(websiteSettings);
+        WebsiteSettings savedWebsiteSettings = websiteSettingsRepository.save(websiteSettings);
+        eventPublisher.publishEvent(new EntityChangedEvent(WebsiteSettings.class, savedWebsiteSettings.getId(), EntityChangedEvent.ChangeType.CREATED));
+        return savedWebsiteSettings;
     }
 
     /**
@@ -60,7 +119,9 @@ public class WebsiteSettingsService {
             websiteSettings.setWebsiteName(websiteSettingsDetails.getWebsiteName());
             websiteSettings.setContactInformation(websiteSettingsDetails.getContactInformation());
             websiteSettings.setFavIconUrl(websiteSettingsDetails.getFavIconUrl());
-            return websiteSettingsRepository.save(websiteSettings);
+            WebsiteSettings savedWebsiteSettings = websiteSettingsRepository.save(websiteSettings);
+            eventPublisher.publishEvent(new EntityChangedEvent(WebsiteSettings.class, id, EntityChangedEvent.ChangeType.UPDATED));
+            return savedWebsiteSettings;
         });
     }
 
@@ -73,6 +134,7 @@ public class WebsiteSettingsService {
     public boolean deleteWebsiteSettings(Long id) {
         if (websiteSettingsRepository.existsById(id)) {
             websiteSettingsRepository.deleteById(id);
+            eventPublisher.publishEvent(new EntityChangedEvent(WebsiteSettings.class, id, EntityChangedEvent.ChangeType.DELETED));
             return true;
         }
         return false;
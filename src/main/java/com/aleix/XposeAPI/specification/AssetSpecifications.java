@@ -1,6 +1,7 @@
 package com.aleix.XposeAPI.specification;
 
 import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.util.TextNormalizer;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
@@ -8,7 +9,6 @@ import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Predicate;
 
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,14 +33,14 @@ public class AssetSpecifications {
 
             if (name != null && !name.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("name"))),
-                        "%" + removeAccents(name.toLowerCase()) + "%"
+                        root.get("nameSearch"),
+                        "%" + TextNormalizer.normalize(name) + "%"
                 ));
             }
             if (type != null && !type.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("type"))),
-                        "%" + removeAccents(type.toLowerCase()) + "%"
+                        root.get("typeSearch"),
+                        "%" + TextNormalizer.normalize(type) + "%"
                 ));
             }
             if (Boolean.TRUE.equals(active)) {
@@ -61,15 +61,4 @@ public class AssetSpecifications {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-
-    /**
-     * Removes accents from a string for accent-insensitive searching.
-     * 
-     * @param text The text to remove accents from
-     * @return The text with accents removed
-     */
-    private static String removeAccents(String text) {
-        return Normalizer.normalize(text, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
-    }
 }
@@ -0,0 +1,40 @@
+package com.aleix.XposeAPI.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification class for keyset (seek) pagination.
+ * Provides the predicate that continues a listing right after the last row of the previous window.
+ */
+public class KeysetSpecifications {
+    /**
+     * Creates a specification matching the rows that sort after {@code (sortValue, id)}
+     * when ordering by the sort key and then by id.
+     * 
+     * @param sortKey The entity attribute the listing is sorted by, or "id"
+     * @param sortValue The sort key value of the last row already returned (ignored when sorting by id)
+     * @param id The id of the last row already returned
+     * @return Specification for seeking past the given position
+     */
+    public static <T> Specification<T> after(String sortKey, String sortValue, Long id) {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) -> {
+            Path<Long> idPath = root.get("id");
+            if ("id".equals(sortKey)) {
+                return criteriaBuilder.greaterThan(idPath, id);
+            }
+
+            Path<String> keyPath = root.get(sortKey);
+            return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(keyPath, sortValue),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(keyPath, sortValue),
+                            criteriaBuilder.greaterThan(idPath, id)
+                    )
+            );
+        };
+    }
+}
@@ -2,10 +2,10 @@ package com.aleix.XposeAPI.specification;
 
 import com.aleix.XposeAPI.model.Artist;
 import com.aleix.XposeAPI.model.Serie;
+import com.aleix.XposeAPI.util.TextNormalizer;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,8 +28,8 @@ public class SerieSpecifications {
 
             if (name != null && !name.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("name"))),
-                        "%" + removeAccents(name.toLowerCase()) + "%"
+                        root.get("nameSearch"),
+                        "%" + TextNormalizer.normalize(name) + "%"
                 ));
             }
             if (artistId != null && !artistId.isEmpty()) {
@@ -46,15 +46,4 @@ public class SerieSpecifications {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-
-    /**
-     * Removes accents from a string for accent-insensitive searching.
-     * 
-     * @param text The text to remove accents from
-     * @return The text with accents removed
-     */
-    private static String removeAccents(String text) {
-        return Normalizer.normalize(text, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
-    }
 }
@@ -1,13 +1,13 @@
 package com.aleix.XposeAPI.specification;
 
 import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.util.TextNormalizer;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Predicate;
 
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,35 +30,24 @@ public class UserSpecifications {
 
             if (name != null && !name.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("name"))),
-                        "%" + removeAccents(name.toLowerCase()) + "%"
+                        root.get("nameSearch"),
+                        "%" + TextNormalizer.normalize(name) + "%"
                 ));
             }
             if (surname != null && !surname.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("surname"))),
-                        "%" + removeAccents(surname.toLowerCase()) + "%"
+                        root.get("surnameSearch"),
+                        "%" + TextNormalizer.normalize(surname) + "%"
                 ));
             }
             if (email != null && !email.isEmpty()) {
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(criteriaBuilder.function("unaccent", String.class, root.get("email"))),
-                        "%" + removeAccents(email.toLowerCase()) + "%"
+                        root.get("emailSearch"),
+                        "%" + TextNormalizer.normalize(email) + "%"
                 ));
             }
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-
-    /**
-     * Removes accents from a string for accent-insensitive searching.
-     * 
-     * @param text The text to remove accents from
-     * @return The text with accents removed
-     */
-    private static String removeAccents(String text) {
-        return Normalizer.normalize(text, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", ""); // Removes diacritical marks
-    }
 }
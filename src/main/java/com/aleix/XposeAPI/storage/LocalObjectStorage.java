@@ -0,0 +1,164 @@
+package com.aleix.XposeAPI.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Object storage on the local filesystem, one directory per bucket under {@code storage.local.root}.
+ * Meant for single-node deployments and offline runs. Reads use {@link FileChannel#transferTo},
+ * and the exposed file path lets the servlet container serve objects with sendfile.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+
+    /**
+     * Constructor for LocalObjectStorage.
+     *
+     * @param root Directory holding one subdirectory per bucket
+     */
+    public LocalObjectStorage(@Value("${storage.local.root:./storage}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void ensureBucket(String bucket) throws IOException {
+        Files.createDirectories(bucketPath(bucket));
+    }
+
+    @Override
+    public void put(String bucket, String objectName, String contentType, InputStream content) throws IOException {
+        Path target = resolve(bucket, objectName);
+        Files.createDirectories(target.getParent());
+        // Write next to the target and move it into place, so readers never see a partial file
+        Path partial = Files.createTempFile(target.getParent(), ".upload-", ".part");
+        try {
+            Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    @Override
+    public Optional<String> presignedPutUrl(String bucket, String objectName, Duration expiry) {
+        // Files on local disk are only reachable through the API
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String bucket, String objectName) throws IOException {
+        Path file = resolve(bucket, objectName);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        String contentType = Files.probeContentType(file);
+        return Optional.of(new StoredObject(Files.size(file), contentType != null ? contentType : DEFAULT_CONTENT_TYPE, file));
+    }
+
+    @Override
+    public InputStream get(String bucket, String objectName) throws IOException {
+        return Files.newInputStream(resolve(bucket, objectName));
+    }
+
+    @Override
+    public void transferTo(String bucket, String objectName, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(bucket, objectName), StandardOpenOption.READ)) {
+            long position = offset;
+            long remaining = length;
+            // transferTo may move fewer bytes than asked, so loop until the range is written
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    @Override
+    public void move(String bucket, String sourceName, String targetName) throws IOException {
+        Files.move(resolve(bucket, sourceName), resolve(bucket, targetName),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public List<String> listModifiedBefore(String bucket, String prefix, Instant before) throws IOException {
+        Path bucketPath = bucketPath(bucket);
+        if (!Files.isDirectory(bucketPath)) {
+            return List.of();
+        }
+        List<String> objectNames = new ArrayList<>();
+        try (Stream<Path> files = Files.list(bucketPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String objectName = file.getFileName().toString();
+                if (objectName.startsWith(prefix) && Files.isRegularFile(file)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(before)) {
+                    objectNames.add(objectName);
+                }
+            }
+        }
+        return objectNames;
+    }
+
+    @Override
+    public void delete(String bucket, String objectName) throws IOException {
+        Files.deleteIfExists(resolve(bucket, objectName));
+    }
+
+    @Override
+    public Map<String, String> deleteAll(String bucket, Collection<String> objectNames) {
+        Map<String, String> failures = new HashMap<>();
+        for (String objectName : objectNames) {
+            try {
+                delete(bucket, objectName);
+            } catch (IOException | RuntimeException e) {
+                failures.put(objectName, e.toString());
+            }
+        }
+        return failures;
+    }
+
+    private Path bucketPath(String bucket) {
+        return checkedResolve(root, bucket);
+    }
+
+    private Path resolve(String bucket, String objectName) {
+        return checkedResolve(bucketPath(bucket), objectName);
+    }
+
+    private static Path checkedResolve(Path parent, String name) {
+        Path resolved = parent.resolve(name).normalize();
+        if (!resolved.startsWith(parent) || resolved.equals(parent)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid object name: " + name);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,167 @@
+package com.aleix.XposeAPI.storage;
+
+import com.aleix.XposeAPI.service.MultipartUploadService;
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.http.Method;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object storage backed by MinIO (or any S3-compatible server). This is the default backend.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "minio", matchIfMissing = true)
+public class MinioObjectStorage implements ObjectStorage {
+
+    private static final String NO_SUCH_KEY = "NoSuchKey";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final MinioClient minioClient;
+    private final MultipartUploadService multipartUploadService;
+
+    /**
+     * Constructor for MinioObjectStorage.
+     *
+     * @param minioClient Client for MinIO operations
+     * @param multipartUploadService Service streaming objects to MinIO in parallel parts
+     */
+    public MinioObjectStorage(MinioClient minioClient, MultipartUploadService multipartUploadService) {
+        this.minioClient = minioClient;
+        this.multipartUploadService = multipartUploadService;
+    }
+
+    @Override
+    public void ensureBucket(String bucket) throws Exception {
+        boolean exists = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build());
+        if (!exists) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+        }
+    }
+
+    @Override
+    public void put(String bucket, String objectName, String contentType, InputStream content) throws Exception {
+        multipartUploadService.upload(bucket, objectName, contentType, content);
+    }
+
+    @Override
+    public Optional<String> presignedPutUrl(String bucket, String objectName, Duration expiry) throws Exception {
+        return Optional.of(minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.PUT)
+                .bucket(bucket)
+                .object(objectName)
+                .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
+                .build()));
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String bucket, String objectName) throws Exception {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(objectName).build());
+            String contentType = stat.contentType() != null ? stat.contentType() : DEFAULT_CONTENT_TYPE;
+            return Optional.of(new StoredObject(stat.size(), contentType, null));
+        } catch (ErrorResponseException e) {
+            if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String bucket, String objectName) throws Exception {
+        return minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(objectName).build());
+    }
+
+    @Override
+    public void transferTo(String bucket, String objectName, long offset, long length, WritableByteChannel target) throws Exception {
+        try (InputStream content = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .offset(offset)
+                .length(length)
+                .build())) {
+            content.transferTo(Channels.newOutputStream(target));
+        }
+    }
+
+    @Override
+    public void move(String bucket, String sourceName, String targetName) throws Exception {
+        // Server-side copy; S3 has no rename
+        minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(targetName)
+                .source(CopySource.builder().bucket(bucket).object(sourceName).build())
+                .build());
+        delete(bucket, sourceName);
+    }
+
+    @Override
+    public List<String> listModifiedBefore(String bucket, String prefix, Instant before) throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+            return List.of();
+        }
+        // The listing is paged lazily, 1000 objects per request
+        Iterable<Result<Item>> results = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .recursive(true)
+                .build());
+        List<String> objectNames = new ArrayList<>();
+        for (Result<Item> result : results) {
+            Item item = result.get();
+            if (!item.isDir() && item.lastModified().toInstant().isBefore(before)) {
+                objectNames.add(item.objectName());
+            }
+        }
+        return objectNames;
+    }
+
+    @Override
+    public void delete(String bucket, String objectName) throws Exception {
+        minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(objectName).build());
+    }
+
+    @Override
+    public Map<String, String> deleteAll(String bucket, Collection<String> objectNames) throws Exception {
+        // Multi-object delete: one request per 1000 objects. The results are lazy and must be iterated
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucket)
+                .objects(objectNames.stream().map(DeleteObject::new).toList())
+                .build());
+        Map<String, String> failures = new HashMap<>();
+        for (Result<DeleteError> result : results) {
+            DeleteError error = result.get();
+            failures.put(error.objectName(), error.code() + ": " + error.message());
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,122 @@
+package com.aleix.XposeAPI.storage;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Storage backend for uploaded files. Objects are addressed by bucket and object name;
+ * the backend is selected with the {@code storage.backend} property.
+ */
+public interface ObjectStorage {
+
+    /**
+     * Creates the bucket if it does not exist yet.
+     *
+     * @param bucket Bucket name
+     * @throws Exception If the backend cannot be reached or the bucket cannot be created
+     */
+    void ensureBucket(String bucket) throws Exception;
+
+    /**
+     * Stores everything readable from a stream as one object. The stream is not closed.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name
+     * @param contentType Content type stored with the object
+     * @param content Stream to read the object from
+     * @throws Exception If reading the stream or storing the object fails
+     */
+    void put(String bucket, String objectName, String contentType, InputStream content) throws Exception;
+
+    /**
+     * Creates a URL that lets a client upload one object straight to the backend with an HTTP PUT,
+     * without credentials and without the bytes passing through the API.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name the upload is stored under
+     * @param expiry How long the URL stays valid
+     * @return Optional containing the URL, empty if the backend does not support direct uploads
+     * @throws Exception If the URL cannot be signed
+     */
+    Optional<String> presignedPutUrl(String bucket, String objectName, Duration expiry) throws Exception;
+
+    /**
+     * Looks up the metadata of an object.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name
+     * @return Optional containing the object metadata if it exists, empty otherwise
+     * @throws Exception If the backend cannot be reached
+     */
+    Optional<StoredObject> stat(String bucket, String objectName) throws Exception;
+
+    /**
+     * Opens an object for reading. The caller closes the stream.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name
+     * @return Stream of the object bytes
+     * @throws Exception If the object does not exist or cannot be read
+     */
+    InputStream get(String bucket, String objectName) throws Exception;
+
+    /**
+     * Writes a byte range of an object to a channel.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name
+     * @param offset First byte to write
+     * @param length Number of bytes to write
+     * @param target Channel to write to
+     * @throws Exception If the object cannot be read or the channel cannot be written
+     */
+    void transferTo(String bucket, String objectName, long offset, long length, WritableByteChannel target) throws Exception;
+
+    /**
+     * Renames an object within a bucket without sending its bytes through the API.
+     * An existing object with the target name is replaced.
+     *
+     * @param bucket Bucket name
+     * @param sourceName Current object name
+     * @param targetName New object name
+     * @throws Exception If the object cannot be renamed
+     */
+    void move(String bucket, String sourceName, String targetName) throws Exception;
+
+    /**
+     * Lists the objects whose name starts with a prefix and that were last written before a point in time.
+     *
+     * @param bucket Bucket name
+     * @param prefix Object name prefix
+     * @param before Only objects last written before this instant are listed
+     * @return Names of the matching objects; empty if the bucket does not exist
+     * @throws Exception If the backend cannot be reached
+     */
+    List<String> listModifiedBefore(String bucket, String prefix, Instant before) throws Exception;
+
+    /**
+     * Deletes an object. Deleting a missing object is not an error.
+     *
+     * @param bucket Bucket name
+     * @param objectName Object name
+     * @throws Exception If the backend cannot be reached
+     */
+    void delete(String bucket, String objectName) throws Exception;
+
+    /**
+     * Deletes several objects, in as few backend requests as possible.
+     * Deleting a missing object is not an error.
+     *
+     * @param bucket Bucket name
+     * @param objectNames Object names
+     * @return Error message per object that could not be deleted; empty if all were deleted
+     * @throws Exception If the backend cannot be reached
+     */
+    Map<String, String> deleteAll(String bucket, Collection<String> objectNames) throws Exception;
+}
@@ -0,0 +1,13 @@
+package com.aleix.XposeAPI.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Metadata of a stored object.
+ *
+ * @param size Size in bytes
+ * @param contentType Content type, or application/octet-stream if unknown
+ * @param localPath File holding the bytes when the backend stores them on local disk, null otherwise
+ */
+public record StoredObject(long size, String contentType, Path localPath) {
+}
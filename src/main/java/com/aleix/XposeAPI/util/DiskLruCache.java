@@ -0,0 +1,183 @@
+package com.aleix.XposeAPI.util;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache of files in a directory, evicting the least recently used entries first.
+ * Each entry is one file named after its key. The index lives in memory and is rebuilt from the
+ * directory on startup, oldest files first, so the cache survives restarts.
+ */
+public final class DiskLruCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long sizeBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Opens the cache, indexing the files already in the directory.
+     *
+     * @param directory Directory holding the cached files, created if missing
+     * @param maxBytes Total size the cached files may take
+     * @throws IOException If the directory cannot be created or listed
+     */
+    public DiskLruCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    // Left behind by a write interrupted by a crash
+                    Files.deleteIfExists(file);
+                } else if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(DiskLruCache::lastModified));
+        for (Path file : files) {
+            long size = Files.size(file);
+            entries.put(file.getFileName().toString(), size);
+            sizeBytes += size;
+        }
+        deleteQuietly(evictOverflow());
+    }
+
+    /**
+     * Looks up an entry and marks it as recently used.
+     *
+     * @param key File name of the entry
+     * @return Optional containing the cached file, empty on a miss
+     */
+    public Optional<Path> get(String key) {
+        boolean hit;
+        synchronized (this) {
+            hit = entries.get(key) != null;
+        }
+        if (hit) {
+            hits.increment();
+            return Optional.of(directory.resolve(key));
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores an entry, evicting least recently used ones to stay within the size limit.
+     * Entries larger than the whole cache are not stored.
+     *
+     * @param key File name of the entry
+     * @param content Bytes to store
+     * @throws IOException If the file cannot be written
+     */
+    public void put(String key, byte[] content) throws IOException {
+        if (content.length > maxBytes) {
+            return;
+        }
+        Path target = directory.resolve(key);
+        Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        List<Path> evicted;
+        synchronized (this) {
+            Long previous = entries.put(key, (long) content.length);
+            sizeBytes += content.length - (previous != null ? previous : 0);
+            evicted = evictOverflow();
+        }
+        deleteQuietly(evicted);
+    }
+
+    /**
+     * Drops an entry whose file turned out to be missing.
+     *
+     * @param key File name of the entry
+     */
+    public synchronized void invalidate(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            sizeBytes -= size;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int getEntries() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    private synchronized List<Path> evictOverflow() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (sizeBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            sizeBytes -= eldest.getValue();
+            evicted.add(directory.resolve(eldest.getKey()));
+            evictions.incrementAndGet();
+        }
+        return evicted;
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Reclaimed on the next startup scan at the latest
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.aleix.XposeAPI.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Decodes, scales and encodes images with the JDK's ImageIO and Java2D, so no native library is needed.
+ * Shared by the fixed-size derivatives and the on-demand variants so both render the same way.
+ */
+public final class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decoded image with the dimensions of the original it was read from.
+     *
+     * @param image Decoded pixels, possibly subsampled
+     * @param originalWidth Width of the stored image
+     * @param originalHeight Height of the stored image
+     */
+    public record DecodedImage(BufferedImage image, int originalWidth, int originalHeight) {
+    }
+
+    /**
+     * Encoded image ready to be stored or sent.
+     *
+     * @param bytes Encoded bytes
+     * @param contentType image/jpeg, or image/png for images with transparency
+     * @param extension File extension matching the content type
+     */
+    public record EncodedImage(byte[] bytes, String contentType, String extension) {
+    }
+
+    /**
+     * Decodes an image, skipping source pixels when it is much larger than needed.
+     * The decoded image keeps at least twice the requested size in each dimension.
+     *
+     * @param data Encoded image bytes
+     * @param minWidth Largest width that will be rendered from it, 0 if unconstrained
+     * @param minHeight Largest height that will be rendered from it, 0 if unconstrained
+     * @return The decoded image, or null if no ImageIO reader understands the format
+     * @throws IOException If the image is corrupt
+     */
+    public static DecodedImage decode(byte[] data, int minWidth, int minHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int subsampling = Math.min(
+                        minWidth > 0 ? width / (minWidth * 2) : Integer.MAX_VALUE,
+                        minHeight > 0 ? height / (minHeight * 2) : Integer.MAX_VALUE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (subsampling > 1 && subsampling != Integer.MAX_VALUE) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return new DecodedImage(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image down to a width, keeping its aspect ratio.
+     *
+     * @param source Image to scale
+     * @param width Target width
+     * @return The scaled image, or the source if it already has that width
+     */
+    public static BufferedImage scaleToWidth(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        return scale(source, width, height);
+    }
+
+    /**
+     * Scales an image to exact dimensions. Large reductions are done in halving steps,
+     * because a single bilinear pass over a much larger image aliases.
+     *
+     * @param source Image to scale
+     * @param width Target width
+     * @param height Target height
+     * @return The scaled image, or the source if it already has those dimensions
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() == width && current.getHeight() == height) {
+            return current;
+        }
+        return draw(current, width, height);
+    }
+
+    /**
+     * Cuts the centered region of the given size out of an image.
+     *
+     * @param source Image to crop
+     * @param width Width of the region, at most the image width
+     * @param height Height of the region, at most the image height
+     * @return The cropped image
+     */
+    public static BufferedImage cropCenter(BufferedImage source, int width, int height) {
+        int x = (source.getWidth() - width) / 2;
+        int y = (source.getHeight() - height) / 2;
+        return source.getSubimage(x, y, width, height);
+    }
+
+    /**
+     * Encodes an image as JPEG, or as PNG when it has transparency.
+     *
+     * @param image Image to encode
+     * @param jpegQuality JPEG quality between 0 and 1
+     * @return The encoded image
+     * @throws IOException If encoding fails
+     */
+    public static EncodedImage encode(BufferedImage image, float jpegQuality) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", out);
+            return new EncodedImage(out.toByteArray(), "image/png", "png");
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new EncodedImage(out.toByteArray(), "image/jpeg", "jpg");
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
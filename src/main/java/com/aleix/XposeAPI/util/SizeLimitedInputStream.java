@@ -0,0 +1,67 @@
+package com.aleix.XposeAPI.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fails once more bytes are read than allowed, for content whose declared size cannot be trusted,
+ * such as a request body or a ZIP entry. The bytes can also be charged to a budget shared by several streams.
+ */
+public final class SizeLimitedInputStream extends FilterInputStream {
+
+    private final AtomicLong sharedRemaining;
+    private long remaining;
+
+    /**
+     * Thrown by a read that goes over the limit of the stream or over the shared budget.
+     */
+    public static final class SizeLimitExceededException extends IOException {
+
+        private SizeLimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Wraps a stream.
+     *
+     * @param in Stream to read from
+     * @param limit Number of bytes this stream may read
+     * @param sharedRemaining Budget charged with every byte read, or null for none
+     */
+    public SizeLimitedInputStream(InputStream in, long limit, AtomicLong sharedRemaining) {
+        super(in);
+        this.remaining = limit;
+        this.sharedRemaining = sharedRemaining;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            consumed(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            consumed(read);
+        }
+        return read;
+    }
+
+    private void consumed(long bytes) throws IOException {
+        remaining -= bytes;
+        if (remaining < 0) {
+            throw new SizeLimitExceededException("Content exceeds the maximum size");
+        }
+        if (sharedRemaining != null && sharedRemaining.addAndGet(-bytes) < 0) {
+            throw new SizeLimitExceededException("Contents exceed the maximum total size");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.aleix.XposeAPI.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes text for case-insensitive and accent-insensitive searching.
+ * Used both when writing the *_search columns and when building filter patterns,
+ * so stored values and search terms always go through the same transformation.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-cases the text and removes its diacritical marks.
+     * 
+     * @param text The text to normalize, may be null
+     * @return The normalized text, or null if the input was null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (isAscii(lower)) {
+            // Nothing to decompose, skip the Normalizer and the regex
+            return lower;
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.aleix.XposeAPI.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a signing key is only generated where the configuration asks for one.
+ */
+class DevJwtSecretPostProcessorTests {
+
+	private final DevJwtSecretPostProcessor postProcessor = new DevJwtSecretPostProcessor(Supplier::get);
+
+	@Test
+	void generatesKeyWhenMissingAndAllowed() {
+		StandardEnvironment environment = environment(Map.of("jwt.secret", "", "jwt.generate-missing-secret", "true"));
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(Base64.getDecoder().decode(environment.getProperty("jwt.secret"))).hasSize(32);
+	}
+
+	@Test
+	void keepsConfiguredKey() {
+		StandardEnvironment environment = environment(Map.of("jwt.secret", "c2VjcmV0", "jwt.generate-missing-secret", "true"));
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(environment.getProperty("jwt.secret")).isEqualTo("c2VjcmV0");
+	}
+
+	@Test
+	void leavesKeyMissingWhenNotAllowed() {
+		StandardEnvironment environment = environment(Map.of());
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(environment.getProperty("jwt.secret")).isNull();
+	}
+
+	private static StandardEnvironment environment(Map<String, Object> properties) {
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+		return environment;
+	}
+}
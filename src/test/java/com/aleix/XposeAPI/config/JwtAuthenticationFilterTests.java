@@ -0,0 +1,44 @@
+package com.aleix.XposeAPI.config;
+
+import com.aleix.XposeAPI.service.JwtService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that the backoffice-only reads cannot be reached without a token through
+ * an encoded or otherwise disguised path.
+ */
+class JwtAuthenticationFilterTests {
+
+	private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(mock(JwtService.class), true);
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/users", "/users/1", "/users;x=1", "/%75sers", "/%75sers/1", "/users/;x=1",
+			"//users", "/dashboard;jsessionid=1", "/%64ashboard", "/jobs;x=1/1", "/%6Aobs/1"})
+	void protectedReadsRequireToken(String uri) throws Exception {
+		MockHttpServletResponse response = get(uri);
+
+		assertThat(response.getStatus()).isEqualTo(401);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/assets", "/series/public-collections", "/usersettings", "/users/login"})
+	void publicReadsPassThrough(String uri) throws Exception {
+		MockHttpServletResponse response = get(uri);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	private MockHttpServletResponse get(String uri) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
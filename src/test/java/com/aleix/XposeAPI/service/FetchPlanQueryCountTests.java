@@ -0,0 +1,153 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.Address;
+import com.aleix.XposeAPI.model.Artist;
+import com.aleix.XposeAPI.model.Asset;
+import com.aleix.XposeAPI.model.ContactInformation;
+import com.aleix.XposeAPI.model.Serie;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the read paths serialize their relations with a fixed number of queries,
+ * however many rows they return.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({AssetService.class, AssetsFromService.class, SerieService.class, FetchPlanService.class})
+class FetchPlanQueryCountTests {
+
+	@MockitoBean
+	private FileUploadService fileUploadService;
+
+	@MockitoBean
+	private StorageDeletionService storageDeletionService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AssetService assetService;
+
+	@Autowired
+	private AssetsFromService assetsFromService;
+
+	@Autowired
+	private SerieService serieService;
+
+	@Test
+	void getAllAssetsUsesFixedQueryCount() {
+		assertFixedQueryCount(shared -> assetService.getAllAssets());
+	}
+
+	@Test
+	void filterAssetsUsesFixedQueryCount() {
+		assertFixedQueryCount(shared -> assetService.filterAssets(null, null, true, null, null));
+	}
+
+	@Test
+	void getAllSerieAssetsUsesFixedQueryCount() {
+		assertFixedQueryCount(shared -> assetsFromService.getAllAssetsFromSerie(shared.getId()));
+	}
+
+	@Test
+	void getAllSeriesUsesFixedQueryCount() {
+		assertFixedQueryCount(shared -> serieService.getAllSeries());
+	}
+
+	@Test
+	void getAllAssetsReturnsInitializedRelations() {
+		seed(3, createSerie());
+
+		List<Asset> assets = assetService.getAllAssets();
+		entityManager.clear();
+
+		assertThat(assets).hasSize(3).allSatisfy(asset -> {
+			assertThat(Hibernate.isInitialized(asset.getAuthors())).isTrue();
+			assertThat(Hibernate.isInitialized(asset.getSeries())).isTrue();
+			asset.getSeries().forEach(serie -> assertThat(Hibernate.isInitialized(serie.getArtists())).isTrue());
+		});
+	}
+
+	private void assertFixedQueryCount(Function<Serie, List<?>> call) {
+		Serie shared = createSerie();
+
+		seed(2, shared);
+		long fewRows = countQueries(() -> call.apply(shared));
+
+		seed(25, shared);
+		long manyRows = countQueries(() -> call.apply(shared));
+
+		assertThat(manyRows).isEqualTo(fewRows);
+	}
+
+	private long countQueries(Supplier<List<?>> call) {
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		assertThat(call.get()).isNotEmpty();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void seed(int count, Serie shared) {
+		for (int i = 0; i < count; i++) {
+			Serie own = createSerie();
+
+			Asset asset = new Asset();
+			asset.setName("Asset " + i);
+			asset.setUrl("https://example.org/asset-" + i + ".jpg");
+			asset.setActive(true);
+			asset.setAuthors(new ArrayList<>(List.of(createArtist(), createArtist())));
+			asset.setSeries(new ArrayList<>(List.of(entityManager.merge(shared), own)));
+			entityManager.persist(asset);
+		}
+		entityManager.flush();
+	}
+
+	private Serie createSerie() {
+		Serie serie = new Serie();
+		serie.setName("Serie");
+		serie.setDescription("Description");
+		serie.setActive(true);
+		serie.setArtists(new ArrayList<>(List.of(createArtist(), createArtist())));
+		return entityManager.persistAndFlush(serie);
+	}
+
+	private Artist createArtist() {
+		Address address = new Address();
+		address.setStreet("Street");
+		address.setCity("City");
+		address.setPostalCode("08001");
+		address.setCountry("Country");
+
+		ContactInformation contactInformation = new ContactInformation();
+		contactInformation.setEmail("artist@example.org");
+		contactInformation.setPhoneNumber("600000000");
+		contactInformation.setAddress(address);
+
+		Artist artist = new Artist();
+		artist.setName("Artist");
+		artist.setContactInformation(contactInformation);
+		return entityManager.persist(artist);
+	}
+}
@@ -0,0 +1,73 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that issued tokens verify and that tampered, foreign or expired tokens do not.
+ */
+class JwtServiceTests {
+
+	private static final String SECRET = "dGVzdC1zaWduaW5nLWtleS1vZi1hdC1sZWFzdC0yNTYtYml0cw==";
+
+	private final JwtService jwtService = new JwtService(SECRET, 60);
+
+	@Test
+	void verifiesIssuedToken() {
+		JwtService.IssuedToken issued = jwtService.issue(user());
+
+		assertThat(jwtService.verify(issued.token())).hasValueSatisfying(claims -> {
+			assertThat(claims.userId()).isEqualTo(7L);
+			assertThat(claims.email()).isEqualTo("user@xpose.es");
+			assertThat(claims.expiresAt()).isEqualTo(issued.expiresAt().truncatedTo(ChronoUnit.SECONDS));
+		});
+	}
+
+	@Test
+	void rejectsTamperedToken() {
+		String token = jwtService.issue(user()).token();
+		String[] parts = token.split("\\.");
+		String forgedPayload = Jwts.builder().setSubject("1").compact().split("\\.")[1];
+
+		assertThat(jwtService.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+		assertThat(jwtService.verify(token.substring(0, token.length() - 2)
+				+ (token.endsWith("AA") ? "BB" : "AA"))).isEmpty();
+	}
+
+	@Test
+	void rejectsTokenSignedWithAnotherKey() {
+		String token = new JwtService("b3RoZXItc2lnbmluZy1rZXktb2YtYXQtbGVhc3QtMjU2LWJpdHM=", 60).issue(user()).token();
+
+		assertThat(jwtService.verify(token)).isEmpty();
+	}
+
+	@Test
+	void rejectsExpiredToken() {
+		Instant issuedAt = Instant.now().minus(2, ChronoUnit.HOURS);
+		String token = Jwts.builder()
+				.setSubject("7")
+				.setIssuedAt(Date.from(issuedAt))
+				.setExpiration(Date.from(issuedAt.plus(1, ChronoUnit.HOURS)))
+				.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+				.compact();
+
+		assertThat(jwtService.verify(token)).isEmpty();
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setId(7L);
+		user.setEmail("user@xpose.es");
+		return user;
+	}
+}
@@ -0,0 +1,64 @@
+package com.aleix.XposeAPI.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Checks password hashing and verification, including legacy plain passwords and a full hashing queue.
+ */
+class PasswordServiceTests {
+
+	private final PasswordService passwordService = new PasswordService(1, 1);
+
+	@AfterEach
+	void shutdown() {
+		passwordService.shutdown();
+	}
+
+	@Test
+	void matchesHashedPassword() throws Exception {
+		String hash = passwordService.hash("secret");
+
+		assertThat(passwordService.isHashed(hash)).isTrue();
+		assertThat(passwordService.matches("secret", hash).get()).isTrue();
+		assertThat(passwordService.matches("wrong", hash).get()).isFalse();
+	}
+
+	@Test
+	void matchesLegacyPlainPassword() throws Exception {
+		assertThat(passwordService.isHashed("secret")).isFalse();
+		assertThat(passwordService.matches("secret", "secret").get()).isTrue();
+		assertThat(passwordService.matches("wrong", "secret").get()).isFalse();
+	}
+
+	@Test
+	void rejectsUnknownUser() throws Exception {
+		assertThat(passwordService.matches("secret", null).get()).isFalse();
+	}
+
+	@Test
+	void rejectsWithServiceUnavailableWhenQueueIsFull() {
+		String hash = passwordService.hash("secret");
+		List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+
+		// One check runs and one waits; every BCrypt check takes far longer than submitting the next one
+		ResponseStatusException rejected = catchThrowableOfType(ResponseStatusException.class, () -> {
+			for (int i = 0; i < 10; i++) {
+				accepted.add(passwordService.matches("secret", hash));
+			}
+		});
+
+		assertThat(rejected).isNotNull();
+		assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(accepted).hasSizeLessThanOrEqualTo(3);
+	}
+}
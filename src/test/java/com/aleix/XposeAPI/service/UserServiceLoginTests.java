@@ -0,0 +1,77 @@
+package com.aleix.XposeAPI.service;
+
+import com.aleix.XposeAPI.model.LoginResponse;
+import com.aleix.XposeAPI.model.User;
+import com.aleix.XposeAPI.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks logins against hashed and legacy plain passwords, and the upgrade of the latter.
+ */
+class UserServiceLoginTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordService passwordService = new PasswordService(1, 8);
+	private final JwtService jwtService = new JwtService("dGVzdC1zaWduaW5nLWtleS1vZi1hdC1sZWFzdC0yNTYtYml0cw==", 60);
+	private final UserService userService = new UserService(userRepository, mock(ApplicationEventPublisher.class),
+			passwordService, jwtService);
+
+	@AfterEach
+	void shutdown() {
+		passwordService.shutdown();
+	}
+
+	@Test
+	void legacyPlainPasswordLogsInAndIsUpgradedInPlace() throws Exception {
+		when(userRepository.findByEmail("user@xpose.es")).thenReturn(Optional.of(user("secret")));
+
+		Optional<LoginResponse> response = userService.loginUser("user@xpose.es", "secret").get();
+
+		assertThat(response).isPresent();
+		assertThat(jwtService.verify(response.get().getToken())).isPresent();
+		verify(userRepository).upgradePasswordHash(eq(7L), eq("secret"),
+				argThat(hash -> passwordService.isHashed(hash) && !hash.equals("secret")));
+		verify(userRepository, never()).save(any());
+	}
+
+	@Test
+	void hashedPasswordLogsInWithoutUpgrade() throws Exception {
+		when(userRepository.findByEmail("user@xpose.es")).thenReturn(Optional.of(user(passwordService.hash("secret"))));
+
+		assertThat(userService.loginUser("user@xpose.es", "secret").get()).isPresent();
+		verify(userRepository, never()).upgradePasswordHash(anyLong(), anyString(), anyString());
+	}
+
+	@Test
+	void wrongPasswordIsRejected() throws Exception {
+		when(userRepository.findByEmail("user@xpose.es")).thenReturn(Optional.of(user("secret")));
+
+		assertThat(userService.loginUser("user@xpose.es", "wrong").get()).isEmpty();
+		verify(userRepository, never()).upgradePasswordHash(anyLong(), anyString(), anyString());
+	}
+
+	private static User user(String password) {
+		User user = new User();
+		user.setId(7L);
+		user.setEmail("user@xpose.es");
+		user.setPasswordHash(password);
+		user.setCreatedAt(Instant.now());
+		return user;
+	}
+}